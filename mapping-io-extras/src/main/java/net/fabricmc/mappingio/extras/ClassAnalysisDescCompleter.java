@@ -17,20 +17,10 @@
 package net.fabricmc.mappingio.extras;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.nio.ByteBuffer;
-import java.nio.channels.SeekableByteChannel;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystemAlreadyExistsException;
-import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collections;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
@@ -50,98 +40,104 @@ public final class ClassAnalysisDescCompleter {
 	}
 
 	public static void process(Path path, String namespace, MappingTree mappingTree) throws IOException {
+		process(path, namespace, mappingTree, null, false);
+	}
+
+	/**
+	 * Variant of {@link #process(Path, String, MappingTree)} parsing the class files concurrently.
+	 *
+	 * <p>Only the parsing is offloaded to the executor, the mapping tree is exclusively updated from the calling
+	 * thread, so it doesn't have to be thread-safe.
+	 */
+	public static void process(Path path, String namespace, MappingTree mappingTree, Executor executor) throws IOException {
+		process(path, namespace, mappingTree, executor, false);
+	}
+
+	/**
+	 * Variant of {@link #process(Path, String, MappingTree)} with control over how the class files are read.
+	 *
+	 * @param executor The executor to parse the class files on concurrently, or {@code null} to parse them on the
+	 * calling thread.
+	 * @param useZipFile Whether to read jars through {@link java.util.zip.ZipFile} instead of mounting a zip file
+	 * system, which avoids the file system's setup and per-entry overhead. Only applies to jars on the default file
+	 * system.
+	 */
+	public static void process(Path path, String namespace, MappingTree mappingTree, @Nullable Executor executor, boolean useZipFile) throws IOException {
 		AnalyzingVisitor visitor = new AnalyzingVisitor(namespace, mappingTree);
 
-		if (Files.isDirectory(path)) {
-			Files.walkFileTree(path, new DirVisitor(visitor));
+		if (executor == null) {
+			ClassFileScanner.scan(path, (classBytes, offset, length) -> processClass(classBytes, offset, length, visitor), useZipFile);
 		} else {
-			processFile(path, null, visitor);
+			ClassFileScanner.scan(path, ClassMembers::parse, members -> members.accept(visitor), executor, useZipFile);
 		}
 	}
 
-	private static final class DirVisitor extends SimpleFileVisitor<Path> {
-		DirVisitor(AnalyzingVisitor visitor) {
-			this.visitor = visitor;
-		}
-
-		@Override
-		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-			buffer = processFile(file, buffer, visitor);
-
-			return FileVisitResult.CONTINUE;
-		}
+	public static void processClass(byte[] classBytes, String namespace, MappingTree mappingTree) {
+		processClass(classBytes, 0, classBytes.length, new AnalyzingVisitor(namespace, mappingTree));
+	}
 
-		private final AnalyzingVisitor visitor;
-		ByteBuffer buffer;
+	public static void processClass(byte[] classBytes, int offset, int length, String namespace, MappingTree mappingTree) {
+		processClass(classBytes, offset, length, new AnalyzingVisitor(namespace, mappingTree));
 	}
 
-	@SuppressWarnings("resource")
-	private static ByteBuffer processFile(Path file, ByteBuffer buffer, AnalyzingVisitor visitor) throws IOException {
-		String fileName = file.getFileName().toString().toLowerCase(Locale.ENGLISH);
+	private static void processClass(byte[] classBytes, int offset, int length, AnalyzingVisitor visitor) {
+		ClassReader reader = new ClassReader(classBytes, offset, length);
+		reader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG);
+	}
 
-		if (fileName.endsWith(".jar")) {
-			URI uri = file.toUri();
+	/**
+	 * Members of a class as relevant to {@link AnalyzingVisitor}, for handing them between threads.
+	 */
+	private static final class ClassMembers extends ClassVisitor {
+		ClassMembers() {
+			super(Integer.getInteger("mappingIo.asmApiVersion", Opcodes.ASM9));
+		}
 
-			try {
-				uri = new URI("jar:".concat(uri.getScheme()), uri.getHost(), uri.getPath(), uri.getFragment());
-			} catch (URISyntaxException e) {
-				throw new IOException(e);
-			}
+		static ClassMembers parse(byte[] classBytes, int offset, int length) {
+			ClassMembers ret = new ClassMembers();
+			new ClassReader(classBytes, offset, length).accept(ret, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG);
 
-			FileSystem fs = null;
-			boolean closeFs = false;
+			return ret;
+		}
 
-			try {
-				try {
-					fs = FileSystems.newFileSystem(uri, Collections.emptyMap());
-					closeFs = true;
-				} catch (FileSystemAlreadyExistsException e) {
-					fs = FileSystems.getFileSystem(uri);
-				}
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			this.name = name;
+		}
 
-				DirVisitor dirVisitor = new DirVisitor(visitor);
+		@Override
+		@Nullable
+		public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+			fields.add(name);
+			fields.add(descriptor);
 
-				for (Path rootDir : fs.getRootDirectories()) {
-					Files.walkFileTree(rootDir, dirVisitor);
-				}
+			return null;
+		}
 
-				buffer = dirVisitor.buffer;
-			} finally {
-				if (closeFs) fs.close();
-			}
-		} else if (fileName.endsWith(".class")) {
-			try (SeekableByteChannel channel = Files.newByteChannel(file)) {
-				if (buffer == null) buffer = ByteBuffer.allocate((int) Math.min(channel.size() + 1, 100_000_000));
-
-				while (channel.read(buffer) >= 0) {
-					if (!buffer.hasRemaining()) {
-						ByteBuffer newBuffer = ByteBuffer.allocate(buffer.capacity() * 2);
-						buffer.flip();
-						newBuffer.put(buffer);
-						buffer = newBuffer;
-					}
-				}
-			}
+		@Override
+		@Nullable
+		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+			methods.add(name);
+			methods.add(descriptor);
 
-			buffer.flip();
-			processClass(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), visitor);
-			buffer.clear();
+			return null;
 		}
 
-		return buffer;
-	}
+		void accept(AnalyzingVisitor visitor) {
+			visitor.visit(0, 0, name, null, null, null);
 
-	public static void processClass(byte[] classBytes, String namespace, MappingTree mappingTree) {
-		processClass(classBytes, 0, classBytes.length, new AnalyzingVisitor(namespace, mappingTree));
-	}
+			for (int i = 0; i < fields.size(); i += 2) {
+				visitor.visitField(0, fields.get(i), fields.get(i + 1), null, null);
+			}
 
-	public static void processClass(byte[] classBytes, int offset, int length, String namespace, MappingTree mappingTree) {
-		processClass(classBytes, offset, length, new AnalyzingVisitor(namespace, mappingTree));
-	}
+			for (int i = 0; i < methods.size(); i += 2) {
+				visitor.visitMethod(0, methods.get(i), methods.get(i + 1), null, null);
+			}
+		}
 
-	private static void processClass(byte[] classBytes, int offset, int length, AnalyzingVisitor visitor) {
-		ClassReader reader = new ClassReader(classBytes, offset, length);
-		reader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG);
+		private String name;
+		private final List<String> fields = new ArrayList<>(); // name, desc pairs
+		private final List<String> methods = new ArrayList<>(); // name, desc pairs
 	}
 
 	private static final class AnalyzingVisitor extends ClassVisitor {
@@ -0,0 +1,728 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import net.fabricmc.mappingio.extras.ClassAnalysisHierarchyProvider.HierarchyData;
+import net.fabricmc.mappingio.tree.HierarchyInfoProvider;
+import net.fabricmc.mappingio.tree.MappingTreeView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodMappingView;
+
+/**
+ * {@link HierarchyInfoProvider} backed by an inheritance graph read directly from class files.
+ *
+ * <p>Classes are gathered from directories, jars or individual class files without loading any code,
+ * and method hierarchies are grouped once up front. The result is immutable and can be saved via
+ * {@link #write(OutputStream)} and restored with {@link #read(InputStream)} to skip the class analysis.
+ *
+ * <p>Classes not part of the analyzed inputs (e.g. from the JDK) are treated as absent, so hierarchies
+ * spanning them are only connected through analyzed classes.
+ */
+@ApiStatus.Experimental
+public final class ClassAnalysisHierarchyProvider implements HierarchyInfoProvider<HierarchyData> {
+	private ClassAnalysisHierarchyProvider(String namespace, String[] classNames, int[] superClasses,
+			int[] interfaceStarts, int[] interfaces,
+			int[] methodStarts, String[] methodNames, String[] methodDescs, int[] methodAccess,
+			int[] fieldStarts, String[] fieldNames, String[] fieldDescs,
+			int[] methodGroups, int groupCount) {
+		this.namespace = namespace;
+		this.classNames = classNames;
+		this.superClasses = superClasses;
+		this.interfaceStarts = interfaceStarts;
+		this.interfaces = interfaces;
+		this.methodStarts = methodStarts;
+		this.methodNames = methodNames;
+		this.methodDescs = methodDescs;
+		this.methodAccess = methodAccess;
+		this.fieldStarts = fieldStarts;
+		this.fieldNames = fieldNames;
+		this.fieldDescs = fieldDescs;
+		this.methodGroups = methodGroups;
+
+		classIndex = new HashMap<>(classNames.length * 4 / 3 + 1);
+
+		for (int i = 0; i < classNames.length; i++) {
+			classIndex.put(classNames[i], i);
+		}
+
+		methodOwners = new int[methodNames.length];
+
+		for (int cls = 0; cls < classNames.length; cls++) {
+			Arrays.fill(methodOwners, methodStarts[cls], methodStarts[cls + 1], cls);
+		}
+
+		// lay out the methods of each group contiguously
+		groupStarts = new int[groupCount + 1];
+
+		for (int group : methodGroups) {
+			groupStarts[group + 1]++;
+		}
+
+		for (int i = 0; i < groupCount; i++) {
+			groupStarts[i + 1] += groupStarts[i];
+		}
+
+		groupMethods = new int[methodGroups.length];
+		int[] fill = Arrays.copyOf(groupStarts, groupCount);
+
+		for (int m = 0; m < methodGroups.length; m++) {
+			groupMethods[fill[methodGroups[m]]++] = m;
+		}
+	}
+
+	/**
+	 * Analyze the class files in the supplied directory, jar or class file.
+	 *
+	 * @param namespace The mapping namespace the class files' names are in.
+	 */
+	public static ClassAnalysisHierarchyProvider create(Path path, String namespace) throws IOException {
+		return create(Collections.singletonList(path), namespace);
+	}
+
+	/**
+	 * Analyze the class files in the supplied directories, jars or class files.
+	 *
+	 * <p>If a class is present multiple times, the first occurrence takes precedence.
+	 *
+	 * @param namespace The mapping namespace the class files' names are in.
+	 */
+	public static ClassAnalysisHierarchyProvider create(Collection<Path> paths, String namespace) throws IOException {
+		Collector collector = new Collector();
+
+		for (Path path : paths) {
+			ClassFileScanner.scan(path, collector::process);
+		}
+
+		return collector.build(namespace);
+	}
+
+	public static ClassAnalysisHierarchyProvider read(Path file) throws IOException {
+		try (InputStream is = Files.newInputStream(file)) {
+			return read(is);
+		}
+	}
+
+	/**
+	 * Restore a provider previously saved with {@link #write(OutputStream)}.
+	 *
+	 * <p>The stream is not closed.
+	 */
+	public static ClassAnalysisHierarchyProvider read(InputStream is) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+		if (in.readInt() != MAGIC) throw new IOException("not a class hierarchy file");
+
+		int version = in.readUnsignedByte();
+		if (version != VERSION) throw new IOException("unsupported class hierarchy file version: "+version);
+
+		String namespace = in.readUTF();
+		String[] strings = new String[in.readInt()];
+
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+
+		int classCount = in.readInt();
+		int methodCount = in.readInt();
+		int fieldCount = in.readInt();
+		String[] classNames = new String[classCount];
+		int[] superClasses = new int[classCount];
+		int[] interfaceStarts = new int[classCount + 1];
+		int[] interfaces = new int[in.readInt()];
+		int[] methodStarts = new int[classCount + 1];
+		String[] methodNames = new String[methodCount];
+		String[] methodDescs = new String[methodCount];
+		int[] methodAccess = new int[methodCount];
+		int[] fieldStarts = new int[classCount + 1];
+		String[] fieldNames = new String[fieldCount];
+		String[] fieldDescs = new String[fieldCount];
+		int ifaceIdx = 0;
+		int methodIdx = 0;
+		int fieldIdx = 0;
+
+		for (int cls = 0; cls < classCount; cls++) {
+			classNames[cls] = strings[in.readInt()];
+			superClasses[cls] = in.readInt();
+
+			for (int i = in.readInt(); i > 0; i--) {
+				interfaces[ifaceIdx++] = in.readInt();
+			}
+
+			interfaceStarts[cls + 1] = ifaceIdx;
+
+			for (int i = in.readInt(); i > 0; i--) {
+				methodNames[methodIdx] = strings[in.readInt()];
+				methodDescs[methodIdx] = strings[in.readInt()];
+				methodAccess[methodIdx] = in.readInt();
+				methodIdx++;
+			}
+
+			methodStarts[cls + 1] = methodIdx;
+
+			for (int i = in.readInt(); i > 0; i--) {
+				fieldNames[fieldIdx] = strings[in.readInt()];
+				fieldDescs[fieldIdx] = strings[in.readInt()];
+				fieldIdx++;
+			}
+
+			fieldStarts[cls + 1] = fieldIdx;
+		}
+
+		if (ifaceIdx != interfaces.length || methodIdx != methodCount || fieldIdx != fieldCount) {
+			throw new IOException("corrupted class hierarchy file");
+		}
+
+		int groupCount = in.readInt();
+		int[] methodGroups = new int[methodCount];
+
+		for (int m = 0; m < methodCount; m++) {
+			int group = in.readInt();
+			if (group < 0 || group >= groupCount) throw new IOException("corrupted class hierarchy file");
+
+			methodGroups[m] = group;
+		}
+
+		return new ClassAnalysisHierarchyProvider(namespace, classNames, superClasses,
+				interfaceStarts, interfaces,
+				methodStarts, methodNames, methodDescs, methodAccess,
+				fieldStarts, fieldNames, fieldDescs,
+				methodGroups, groupCount);
+	}
+
+	public void write(Path file) throws IOException {
+		try (OutputStream os = Files.newOutputStream(file)) {
+			write(os);
+		}
+	}
+
+	/**
+	 * Save the analyzed hierarchy in a compact binary form, readable by {@link #read(InputStream)}.
+	 *
+	 * <p>The stream is flushed, but not closed.
+	 */
+	public void write(OutputStream os) throws IOException {
+		Map<String, Integer> stringIds = new LinkedHashMap<>();
+
+		for (String name : classNames) stringIds.putIfAbsent(name, stringIds.size());
+		for (String name : methodNames) stringIds.putIfAbsent(name, stringIds.size());
+		for (String desc : methodDescs) stringIds.putIfAbsent(desc, stringIds.size());
+		for (String name : fieldNames) stringIds.putIfAbsent(name, stringIds.size());
+		for (String desc : fieldDescs) stringIds.putIfAbsent(desc, stringIds.size());
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeUTF(namespace);
+		out.writeInt(stringIds.size());
+
+		for (String s : stringIds.keySet()) {
+			out.writeUTF(s);
+		}
+
+		out.writeInt(classNames.length);
+		out.writeInt(methodNames.length);
+		out.writeInt(fieldNames.length);
+		out.writeInt(interfaces.length);
+
+		for (int cls = 0; cls < classNames.length; cls++) {
+			out.writeInt(stringIds.get(classNames[cls]));
+			out.writeInt(superClasses[cls]);
+			out.writeInt(interfaceStarts[cls + 1] - interfaceStarts[cls]);
+
+			for (int i = interfaceStarts[cls]; i < interfaceStarts[cls + 1]; i++) {
+				out.writeInt(interfaces[i]);
+			}
+
+			out.writeInt(methodStarts[cls + 1] - methodStarts[cls]);
+
+			for (int m = methodStarts[cls]; m < methodStarts[cls + 1]; m++) {
+				out.writeInt(stringIds.get(methodNames[m]));
+				out.writeInt(stringIds.get(methodDescs[m]));
+				out.writeInt(methodAccess[m]);
+			}
+
+			out.writeInt(fieldStarts[cls + 1] - fieldStarts[cls]);
+
+			for (int f = fieldStarts[cls]; f < fieldStarts[cls + 1]; f++) {
+				out.writeInt(stringIds.get(fieldNames[f]));
+				out.writeInt(stringIds.get(fieldDescs[f]));
+			}
+		}
+
+		out.writeInt(groupStarts.length - 1);
+
+		for (int group : methodGroups) {
+			out.writeInt(group);
+		}
+
+		out.flush();
+	}
+
+	@Override
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public int getClassCount() {
+		return classNames.length;
+	}
+
+	@Override
+	@Nullable
+	public String resolveField(String owner, String name, @Nullable String desc) {
+		Integer cls = classIndex.get(owner);
+		if (cls == null) return null;
+
+		int field = resolveField(cls, name, desc);
+
+		return field >= 0 ? classNames[fieldOwner(field)] : null;
+	}
+
+	private int resolveField(int cls, String name, @Nullable String desc) {
+		int ret = findMember(fieldNames, fieldDescs, fieldStarts[cls], fieldStarts[cls + 1], name, desc);
+		if (ret >= 0) return ret;
+
+		for (int i = interfaceStarts[cls]; i < interfaceStarts[cls + 1]; i++) {
+			ret = resolveField(interfaces[i], name, desc);
+			if (ret >= 0) return ret;
+		}
+
+		return superClasses[cls] >= 0 ? resolveField(superClasses[cls], name, desc) : -1;
+	}
+
+	private int fieldOwner(int field) {
+		int pos = Arrays.binarySearch(fieldStarts, field);
+
+		if (pos < 0) {
+			return -pos - 2;
+		} else { // skip classes without fields
+			while (fieldStarts[pos + 1] == field) pos++;
+
+			return pos;
+		}
+	}
+
+	@Override
+	@Nullable
+	public String resolveMethod(String owner, String name, @Nullable String desc) {
+		int method = resolveMethodIdx(owner, name, desc);
+
+		return method >= 0 ? classNames[methodOwners[method]] : null;
+	}
+
+	private int resolveMethodIdx(String owner, String name, @Nullable String desc) {
+		Integer start = classIndex.get(owner);
+		if (start == null) return -1;
+
+		for (int cls = start; cls >= 0; cls = superClasses[cls]) {
+			int ret = findMember(methodNames, methodDescs, methodStarts[cls], methodStarts[cls + 1], name, desc);
+			if (ret >= 0) return ret;
+		}
+
+		// not in the class chain, try the super interfaces breadth first
+		int[] queue = new int[classNames.length];
+		boolean[] queued = new boolean[classNames.length];
+		int head = 0;
+		int tail = 0;
+
+		for (int cls = start; cls >= 0; cls = superClasses[cls]) {
+			for (int i = interfaceStarts[cls]; i < interfaceStarts[cls + 1]; i++) {
+				int iface = interfaces[i];
+				if (queued[iface]) continue;
+
+				queued[iface] = true;
+				queue[tail++] = iface;
+			}
+		}
+
+		while (head < tail) {
+			int cls = queue[head++];
+			int ret = findMember(methodNames, methodDescs, methodStarts[cls], methodStarts[cls + 1], name, desc);
+			if (ret >= 0 && (methodAccess[ret] & (Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC)) == 0) return ret;
+
+			for (int i = interfaceStarts[cls]; i < interfaceStarts[cls + 1]; i++) {
+				int iface = interfaces[i];
+				if (queued[iface]) continue;
+
+				queued[iface] = true;
+				queue[tail++] = iface;
+			}
+		}
+
+		return -1;
+	}
+
+	@Override
+	@Nullable
+	public HierarchyData getMethodHierarchy(String owner, String name, @Nullable String desc) {
+		int method = resolveMethodIdx(owner, name, desc);
+
+		return method >= 0 ? new HierarchyData(methodGroups[method]) : null;
+	}
+
+	@Override
+	public int getHierarchySize(@Nullable HierarchyData hierarchy) {
+		return hierarchy != null ? groupStarts[hierarchy.group + 1] - groupStarts[hierarchy.group] : 0;
+	}
+
+	@Override
+	public Collection<? extends MethodMappingView> getHierarchyMethods(@Nullable HierarchyData hierarchy, MappingTreeView tree) {
+		if (hierarchy == null) return Collections.emptyList();
+
+		int start = groupStarts[hierarchy.group];
+		int end = groupStarts[hierarchy.group + 1];
+		List<MethodMappingView> ret = new ArrayList<>(end - start);
+		int ns = tree.getNamespaceId(namespace);
+		assert ns != MappingTreeView.NULL_NAMESPACE_ID;
+
+		for (int i = start; i < end; i++) {
+			int method = groupMethods[i];
+			MethodMappingView m = tree.getMethod(classNames[methodOwners[method]], methodNames[method], methodDescs[method], ns);
+			if (m != null) ret.add(m);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Find a member in a class' member range, which is sorted by name, then descriptor.
+	 *
+	 * <p>A missing descriptor only matches if the name is unique within the class.
+	 */
+	private static int findMember(String[] names, String[] descs, int start, int end, String name, @Nullable String desc) {
+		int low = start;
+		int high = end;
+
+		while (low < high) { // lower bound of (name, desc), a null desc sorting before any other
+			int mid = (low + high) >>> 1;
+			int cmp = names[mid].compareTo(name);
+			if (cmp == 0 && desc != null) cmp = descs[mid].compareTo(desc);
+
+			if (cmp < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		if (low == end || !names[low].equals(name)) return -1;
+
+		if (desc == null) {
+			return low + 1 == end || !names[low + 1].equals(name) ? low : -1;
+		} else {
+			return descs[low].equals(desc) ? low : -1;
+		}
+	}
+
+	private static boolean isVirtual(int access, String name) {
+		return (access & (Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC)) == 0 && !name.startsWith("<");
+	}
+
+	public static final class HierarchyData {
+		HierarchyData(int group) {
+			this.group = group;
+		}
+
+		final int group;
+	}
+
+	private static final class Collector {
+		void process(byte[] classBytes, int offset, int length) {
+			new ClassReader(classBytes, offset, length).accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		}
+
+		ClassAnalysisHierarchyProvider build(String namespace) {
+			int classCount = classes.size();
+			Map<String, Integer> classIndex = new HashMap<>(classCount * 4 / 3 + 1);
+			int ifaceCount = 0;
+			int methodCount = 0;
+			int fieldCount = 0;
+
+			for (ClassInfo cls : classes) {
+				classIndex.put(cls.name, classIndex.size());
+				methodCount += cls.methods.size();
+				fieldCount += cls.fields.size();
+			}
+
+			String[] classNames = new String[classCount];
+			int[] superClasses = new int[classCount];
+			int[] interfaceStarts = new int[classCount + 1];
+			int[] methodStarts = new int[classCount + 1];
+			String[] methodNames = new String[methodCount];
+			String[] methodDescs = new String[methodCount];
+			int[] methodAccess = new int[methodCount];
+			int[] fieldStarts = new int[classCount + 1];
+			String[] fieldNames = new String[fieldCount];
+			String[] fieldDescs = new String[fieldCount];
+			int[] interfaces = new int[classCount];
+			int methodIdx = 0;
+			int fieldIdx = 0;
+
+			for (int i = 0; i < classCount; i++) {
+				ClassInfo cls = classes.get(i);
+				classNames[i] = cls.name;
+				Integer superIdx = cls.superName != null ? classIndex.get(cls.superName) : null;
+				superClasses[i] = superIdx != null ? superIdx : -1;
+
+				for (String iface : cls.interfaces) {
+					Integer ifaceIdx = classIndex.get(iface);
+					if (ifaceIdx == null) continue;
+					if (ifaceCount == interfaces.length) interfaces = Arrays.copyOf(interfaces, ifaceCount * 2);
+
+					interfaces[ifaceCount++] = ifaceIdx;
+				}
+
+				interfaceStarts[i + 1] = ifaceCount;
+
+				cls.methods.sort(MEMBER_COMPARATOR);
+
+				for (MemberInfo method : cls.methods) {
+					methodNames[methodIdx] = method.name;
+					methodDescs[methodIdx] = method.desc;
+					methodAccess[methodIdx] = method.access;
+					methodIdx++;
+				}
+
+				methodStarts[i + 1] = methodIdx;
+
+				cls.fields.sort(MEMBER_COMPARATOR);
+
+				for (MemberInfo field : cls.fields) {
+					fieldNames[fieldIdx] = field.name;
+					fieldDescs[fieldIdx] = field.desc;
+					fieldIdx++;
+				}
+
+				fieldStarts[i + 1] = fieldIdx;
+			}
+
+			interfaces = Arrays.copyOf(interfaces, ifaceCount);
+
+			// group virtual methods with their overrides: every virtual method is joined with the equally
+			// named and typed virtual methods in all of its class' super types, the connected components
+			// are the method hierarchies
+
+			int[] unionParents = new int[methodCount];
+
+			for (int m = 0; m < methodCount; m++) {
+				unionParents[m] = m;
+			}
+
+			int[] stack = new int[classCount];
+			int[] visitedBy = new int[classCount];
+			Arrays.fill(visitedBy, -1);
+
+			for (int cls = 0; cls < classCount; cls++) {
+				int methodStart = methodStarts[cls];
+				int methodEnd = methodStarts[cls + 1];
+				if (methodStart == methodEnd) continue;
+
+				int stackSize = 0;
+				visitedBy[cls] = cls;
+				stack[stackSize++] = cls;
+
+				while (stackSize > 0) {
+					int cur = stack[--stackSize];
+
+					if (cur != cls) {
+						for (int m = methodStart; m < methodEnd; m++) {
+							if (!isVirtual(methodAccess[m], methodNames[m])) continue;
+
+							int other = findMember(methodNames, methodDescs, methodStarts[cur], methodStarts[cur + 1], methodNames[m], methodDescs[m]);
+
+							if (other >= 0 && isVirtual(methodAccess[other], methodNames[other])) {
+								union(unionParents, m, other);
+							}
+						}
+					}
+
+					int parent = superClasses[cur];
+
+					if (parent >= 0 && visitedBy[parent] != cls) {
+						visitedBy[parent] = cls;
+						stack[stackSize++] = parent;
+					}
+
+					for (int i = interfaceStarts[cur]; i < interfaceStarts[cur + 1]; i++) {
+						parent = interfaces[i];
+
+						if (visitedBy[parent] != cls) {
+							visitedBy[parent] = cls;
+							stack[stackSize++] = parent;
+						}
+					}
+				}
+			}
+
+			int[] methodGroups = new int[methodCount];
+			int[] rootGroups = new int[methodCount];
+			Arrays.fill(rootGroups, -1);
+			int groupCount = 0;
+
+			for (int m = 0; m < methodCount; m++) {
+				int root = find(unionParents, m);
+				if (rootGroups[root] < 0) rootGroups[root] = groupCount++;
+
+				methodGroups[m] = rootGroups[root];
+			}
+
+			return new ClassAnalysisHierarchyProvider(namespace, classNames, superClasses,
+					interfaceStarts, interfaces,
+					methodStarts, methodNames, methodDescs, methodAccess,
+					fieldStarts, fieldNames, fieldDescs,
+					methodGroups, groupCount);
+		}
+
+		private static int find(int[] parents, int e) {
+			while (parents[e] != e) {
+				parents[e] = parents[parents[e]];
+				e = parents[e];
+			}
+
+			return e;
+		}
+
+		private static void union(int[] parents, int a, int b) {
+			a = find(parents, a);
+			b = find(parents, b);
+			if (a != b) parents[Math.max(a, b)] = Math.min(a, b);
+		}
+
+		private String intern(String s) {
+			String ret = strings.putIfAbsent(s, s);
+
+			return ret != null ? ret : s;
+		}
+
+		private final class CollectingVisitor extends ClassVisitor {
+			CollectingVisitor() {
+				super(Integer.getInteger("mappingIo.asmApiVersion", Opcodes.ASM9));
+			}
+
+			@Override
+			public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+				if (!seenClasses.add(name)) { // first occurrence wins
+					cls = null;
+					return;
+				}
+
+				cls = new ClassInfo(intern(name), superName != null ? intern(superName) : null,
+						interfaces != null ? interfaces : new String[0]);
+				classes.add(cls);
+			}
+
+			@Override
+			@Nullable
+			public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+				if (cls != null) cls.fields.add(new MemberInfo(intern(name), intern(descriptor), access));
+
+				return null;
+			}
+
+			@Override
+			@Nullable
+			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+				if (cls != null) cls.methods.add(new MemberInfo(intern(name), intern(descriptor), access));
+
+				return null;
+			}
+
+			private ClassInfo cls;
+		}
+
+		private final List<ClassInfo> classes = new ArrayList<>();
+		private final Set<String> seenClasses = new HashSet<>();
+		private final Map<String, String> strings = new HashMap<>();
+		private final CollectingVisitor visitor = new CollectingVisitor();
+	}
+
+	private static final class ClassInfo {
+		ClassInfo(String name, @Nullable String superName, String[] interfaces) {
+			this.name = name;
+			this.superName = superName;
+			this.interfaces = interfaces;
+		}
+
+		final String name;
+		@Nullable
+		final String superName;
+		final String[] interfaces;
+		final List<MemberInfo> methods = new ArrayList<>();
+		final List<MemberInfo> fields = new ArrayList<>();
+	}
+
+	private static final class MemberInfo {
+		MemberInfo(String name, String desc, int access) {
+			this.name = name;
+			this.desc = desc;
+			this.access = access;
+		}
+
+		final String name;
+		final String desc;
+		final int access;
+	}
+
+	private static final int MAGIC = 0x4d494348; // MICH
+	private static final int VERSION = 1;
+	private static final Comparator<MemberInfo> MEMBER_COMPARATOR = Comparator.<MemberInfo, String>comparing(m -> m.name).thenComparing(m -> m.desc);
+
+	private final String namespace;
+	private final Map<String, Integer> classIndex;
+	private final String[] classNames;
+	private final int[] superClasses;
+	private final int[] interfaceStarts;
+	private final int[] interfaces;
+	private final int[] methodStarts;
+	private final int[] methodOwners;
+	private final String[] methodNames;
+	private final String[] methodDescs;
+	private final int[] methodAccess;
+	private final int[] fieldStarts;
+	private final String[] fieldNames;
+	private final String[] fieldDescs;
+	private final int[] methodGroups;
+	private final int[] groupStarts;
+	private final int[] groupMethods;
+}
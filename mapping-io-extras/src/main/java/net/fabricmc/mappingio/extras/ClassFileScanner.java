@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Walks directories, jars and individual class files, handing every class file's bytes to a {@link ClassHandler}.
+ */
+final class ClassFileScanner {
+	private ClassFileScanner() {
+	}
+
+	static void scan(Path path, ClassHandler handler) throws IOException {
+		scan(path, handler, false);
+	}
+
+	/**
+	 * Scan for class files.
+	 *
+	 * @param useZipFile Whether to read jars on the default file system through {@link ZipFile} instead of mounting
+	 * a zip file system.
+	 */
+	static void scan(Path path, ClassHandler handler, boolean useZipFile) throws IOException {
+		if (Files.isDirectory(path)) {
+			Files.walkFileTree(path, new DirVisitor(handler, useZipFile));
+		} else {
+			processFile(path, null, handler, useZipFile);
+		}
+	}
+
+	/**
+	 * Scan for class files, parsing them concurrently on the supplied executor.
+	 *
+	 * <p>The parse results are passed to the applier on the calling thread, in no particular order. A {@code null}
+	 * result is skipped.
+	 */
+	static <T> void scan(Path path, ClassParser<T> parser, Consumer<? super T> applier, Executor executor, boolean useZipFile) throws IOException {
+		ParallelHandler<T> handler = new ParallelHandler<>(parser, applier, executor);
+		scan(path, handler, useZipFile);
+		handler.finish();
+	}
+
+	interface ClassHandler {
+		/**
+		 * Process a class file.
+		 *
+		 * <p>The passed buffer is only valid for the duration of the call.
+		 */
+		void handle(byte[] classBytes, int offset, int length);
+	}
+
+	interface ClassParser<T> {
+		/**
+		 * Parse a class file, potentially concurrently with other invocations.
+		 *
+		 * <p>Unlike {@link ClassHandler}, the passed buffer is exclusively owned by the parser.
+		 */
+		@Nullable
+		T parse(byte[] classBytes, int offset, int length);
+	}
+
+	private static final class ParallelHandler<T> implements ClassHandler {
+		ParallelHandler(ClassParser<T> parser, Consumer<? super T> applier, Executor executor) {
+			this.parser = parser;
+			this.applier = applier;
+			this.executor = executor;
+		}
+
+		@Override
+		public void handle(byte[] classBytes, int offset, int length) {
+			byte[] copy = Arrays.copyOfRange(classBytes, offset, offset + length);
+
+			executor.execute(() -> {
+				Object result;
+
+				try {
+					result = parser.parse(copy, 0, copy.length);
+					if (result == null) result = NO_RESULT;
+				} catch (Throwable t) {
+					result = new Failure(t);
+				}
+
+				results.add(result);
+			});
+
+			pending++;
+
+			// apply what is done already, wait if too far behind to bound the memory use
+			Object result;
+
+			while ((result = results.poll()) != null) {
+				apply(result);
+			}
+
+			while (pending > MAX_PENDING) {
+				apply(take());
+			}
+		}
+
+		void finish() {
+			while (pending > 0) {
+				apply(take());
+			}
+		}
+
+		private Object take() {
+			try {
+				return results.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void apply(Object result) {
+			pending--;
+
+			if (result instanceof Failure) {
+				Throwable t = ((Failure) result).cause;
+				if (t instanceof RuntimeException) throw (RuntimeException) t;
+				if (t instanceof Error) throw (Error) t;
+				throw new RuntimeException(t);
+			} else if (result != NO_RESULT) {
+				applier.accept((T) result);
+			}
+		}
+
+		private static final int MAX_PENDING = 1024;
+		private static final Object NO_RESULT = new Object();
+
+		private final ClassParser<T> parser;
+		private final Consumer<? super T> applier;
+		private final Executor executor;
+		private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+		private int pending;
+	}
+
+	private static final class Failure {
+		Failure(Throwable cause) {
+			this.cause = cause;
+		}
+
+		final Throwable cause;
+	}
+
+	private static final class DirVisitor extends SimpleFileVisitor<Path> {
+		DirVisitor(ClassHandler handler, boolean useZipFile) {
+			this.handler = handler;
+			this.useZipFile = useZipFile;
+		}
+
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+			buffer = processFile(file, buffer, handler, useZipFile);
+
+			return FileVisitResult.CONTINUE;
+		}
+
+		private final ClassHandler handler;
+		private final boolean useZipFile;
+		ByteBuffer buffer;
+	}
+
+	@SuppressWarnings("resource")
+	private static ByteBuffer processFile(Path file, ByteBuffer buffer, ClassHandler handler, boolean useZipFile) throws IOException {
+		String fileName = file.getFileName().toString().toLowerCase(Locale.ENGLISH);
+
+		if (fileName.endsWith(".jar")) {
+			if (useZipFile && file.getFileSystem() == FileSystems.getDefault()) {
+				return processZip(file, buffer, handler);
+			}
+
+			URI uri = file.toUri();
+
+			try {
+				uri = new URI("jar:".concat(uri.getScheme()), uri.getHost(), uri.getPath(), uri.getFragment());
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+
+			FileSystem fs = null;
+			boolean closeFs = false;
+
+			try {
+				try {
+					fs = FileSystems.newFileSystem(uri, Collections.emptyMap());
+					closeFs = true;
+				} catch (FileSystemAlreadyExistsException e) {
+					fs = FileSystems.getFileSystem(uri);
+				}
+
+				DirVisitor dirVisitor = new DirVisitor(handler, useZipFile);
+
+				for (Path rootDir : fs.getRootDirectories()) {
+					Files.walkFileTree(rootDir, dirVisitor);
+				}
+
+				buffer = dirVisitor.buffer;
+			} finally {
+				if (closeFs) fs.close();
+			}
+		} else if (fileName.endsWith(".class")) {
+			try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+				buffer = processClass(channel, channel.size(), buffer, handler);
+			}
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * Read a jar through {@link ZipFile}, which accesses the entries directly instead of mounting a zip file system.
+	 */
+	private static ByteBuffer processZip(Path file, ByteBuffer buffer, ClassHandler handler) throws IOException {
+		try (ZipFile zip = new ZipFile(file.toFile())) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().toLowerCase(Locale.ENGLISH).endsWith(".class")) continue;
+
+				try (ReadableByteChannel channel = Channels.newChannel(zip.getInputStream(entry))) {
+					buffer = processClass(channel, entry.getSize(), buffer, handler);
+				}
+			}
+		}
+
+		return buffer;
+	}
+
+	private static ByteBuffer processClass(ReadableByteChannel channel, long sizeHint, ByteBuffer buffer, ClassHandler handler) throws IOException {
+		if (buffer == null) buffer = ByteBuffer.allocate((int) Math.max(Math.min(sizeHint + 1, 100_000_000), 4096));
+
+		while (channel.read(buffer) >= 0) {
+			if (!buffer.hasRemaining()) {
+				ByteBuffer newBuffer = ByteBuffer.allocate(buffer.capacity() * 2);
+				buffer.flip();
+				newBuffer.put(buffer);
+				buffer = newBuffer;
+			}
+		}
+
+		buffer.flip();
+		handler.handle(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		buffer.clear();
+
+		return buffer;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+
+import net.fabricmc.mappingio.tree.MappingTreeView;
+
+/**
+ * Remaps all classes in a jar between two namespaces of a {@link MappingTreeView}.
+ *
+ * <p>Classes are remapped concurrently on a {@link ForkJoinPool} and written to the output jar in input order
+ * as soon as they are done, keeping only a bounded number of classes in memory.
+ */
+@ApiStatus.Experimental
+public final class JarRemapper {
+	private JarRemapper() {
+	}
+
+	/**
+	 * Remap a jar using the {@linkplain ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param copyResources Whether to copy non-class files, except for jar signatures which remapping invalidates.
+	 */
+	public static void remap(Path input, Path output, MappingTreeView tree, String from, String to, boolean copyResources) throws IOException {
+		remap(input, output, tree, from, to, copyResources, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Remap a jar.
+	 *
+	 * <p>The mapping tree must not be modified while remapping.
+	 *
+	 * @param copyResources Whether to copy non-class files, except for jar signatures which remapping invalidates.
+	 */
+	public static void remap(Path input, Path output, MappingTreeView tree, String from, String to, boolean copyResources, ForkJoinPool pool) throws IOException {
+		MappingTreeRemapper remapper = MappingTreeRemapper.precomputed(tree, from, to);
+		Queue<ForkJoinTask<RemappedClass>> pending = new ArrayDeque<>();
+
+		try (ZipFile zip = new ZipFile(input.toFile());
+				ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(output))) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			byte[] buffer = new byte[8192];
+
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory()) continue;
+
+				String name = entry.getName();
+
+				if (name.toLowerCase(Locale.ENGLISH).endsWith(".class")) {
+					if (pending.size() >= MAX_PENDING) pending.poll().join().write(zos);
+
+					pending.add(pool.submit(() -> remapClass(zip, entry, remapper)));
+				} else if (copyResources && !isSignatureFile(name)) {
+					// keep the output order stable by flushing the preceding classes first
+					while (!pending.isEmpty()) pending.poll().join().write(zos);
+
+					zos.putNextEntry(new ZipEntry(name));
+
+					try (InputStream is = zip.getInputStream(entry)) {
+						copy(is, zos, buffer);
+					}
+
+					zos.closeEntry();
+				}
+			}
+
+			while (!pending.isEmpty()) pending.poll().join().write(zos);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			for (ForkJoinTask<?> task : pending) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	private static RemappedClass remapClass(ZipFile zip, ZipEntry entry, MappingTreeRemapper remapper) {
+		ClassReader reader;
+
+		try (InputStream is = zip.getInputStream(entry)) {
+			reader = new ClassReader(is);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		ClassWriter writer = new ClassWriter(0);
+		reader.accept(new ClassRemapper(writer, remapper), 0);
+
+		return new RemappedClass(getVersionPrefix(entry.getName()) + remapper.map(reader.getClassName()) + ".class", writer.toByteArray());
+	}
+
+	/**
+	 * @return The {@code META-INF/versions/<n>/} directory of a multi-release jar entry, or an empty string.
+	 */
+	private static String getVersionPrefix(String name) {
+		if (!name.startsWith(VERSIONS_DIR)) return "";
+
+		int end = name.indexOf('/', VERSIONS_DIR.length());
+
+		return end >= 0 ? name.substring(0, end + 1) : "";
+	}
+
+	private static boolean isSignatureFile(String name) {
+		if (!name.startsWith("META-INF/") || name.indexOf('/', "META-INF/".length()) >= 0) return false;
+
+		String lowerName = name.toLowerCase(Locale.ENGLISH);
+
+		return lowerName.endsWith(".sf") || lowerName.endsWith(".rsa") || lowerName.endsWith(".dsa") || lowerName.endsWith(".ec");
+	}
+
+	private static void copy(InputStream is, OutputStream os, byte[] buffer) throws IOException {
+		int len;
+
+		while ((len = is.read(buffer)) >= 0) {
+			os.write(buffer, 0, len);
+		}
+	}
+
+	private static final class RemappedClass {
+		RemappedClass(String name, byte[] data) {
+			this.name = name;
+			this.data = data;
+		}
+
+		void write(ZipOutputStream zos) throws IOException {
+			zos.putNextEntry(new ZipEntry(name));
+			zos.write(data);
+			zos.closeEntry();
+		}
+
+		final String name;
+		final byte[] data;
+	}
+
+	private static final String VERSIONS_DIR = "META-INF/versions/";
+	private static final int MAX_PENDING = 1024;
+}
@@ -16,8 +16,11 @@
 
 package net.fabricmc.mappingio.extras;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.commons.Remapper;
 
 import net.fabricmc.mappingio.tree.MappingTreeView;
@@ -29,6 +32,12 @@ public final class MappingTreeRemapper extends Remapper {
 	private final MappingTreeView tree;
 	private final int fromId;
 	private final int toId;
+	@Nullable
+	private final Map<String, String> classNames;
+	@Nullable
+	private final Map<MemberKey, String> fieldNames;
+	@Nullable
+	private final Map<MemberKey, String> methodNames;
 
 	/**
 	 * Constructs a {@code MappingTreeRemapper}.
@@ -44,6 +53,88 @@ public final class MappingTreeRemapper extends Remapper {
 		this.tree = tree;
 		this.fromId = getNamespaceId(tree, from);
 		this.toId = getNamespaceId(tree, to);
+		this.classNames = null;
+		this.fieldNames = null;
+		this.methodNames = null;
+	}
+
+	private MappingTreeRemapper(MappingTreeView tree, int fromId, int toId) {
+		this.tree = tree;
+		this.fromId = fromId;
+		this.toId = toId;
+
+		Map<String, String> classNames = new HashMap<>();
+		Map<MemberKey, String> fieldNames = new HashMap<>();
+		Map<MemberKey, String> methodNames = new HashMap<>();
+
+		if (fromId != toId) {
+			for (MappingTreeView.ClassMappingView cls : tree.getClasses()) {
+				String owner = cls.getName(fromId);
+				if (owner == null) continue;
+
+				String mapped = cls.getName(toId);
+				if (mapped != null && !mapped.equals(owner)) classNames.putIfAbsent(owner, mapped);
+
+				for (MappingTreeView.FieldMappingView field : cls.getFields()) {
+					putMember(owner, field, fieldNames);
+				}
+
+				for (MappingTreeView.MethodMappingView method : cls.getMethods()) {
+					putMember(owner, method, methodNames);
+				}
+			}
+		}
+
+		this.classNames = classNames;
+		this.fieldNames = fieldNames;
+		this.methodNames = methodNames;
+	}
+
+	/**
+	 * Constructs a {@code MappingTreeRemapper} backed by lookup tables computed once from the tree's current state.
+	 *
+	 * <p>Subsequent changes to the tree are not reflected. The returned instance is immutable and can be shared
+	 * between threads remapping different classes concurrently.
+	 *
+	 * @param tree The mapping tree view.
+	 * @param from The input namespace, must be in the tree.
+	 * @param to The output namespace, must be in the tree.
+	 */
+	public static MappingTreeRemapper precomputed(MappingTreeView tree, String from, String to) {
+		Objects.requireNonNull(tree, "Mapping tree cannot be null");
+		Objects.requireNonNull(from, "Input namespace cannot be null");
+		Objects.requireNonNull(to, "Output namespace cannot be null");
+
+		return new MappingTreeRemapper(tree, getNamespaceId(tree, from), getNamespaceId(tree, to));
+	}
+
+	private void putMember(String owner, MappingTreeView.MemberMappingView member, Map<MemberKey, String> names) {
+		String name = member.getName(fromId);
+		String mapped = member.getName(toId);
+		if (name == null || mapped == null) return;
+
+		String desc = member.getDesc(fromId);
+
+		if (desc != null) { // partial descs like (I) are stored as-is and matched by their parameter part
+			names.putIfAbsent(new MemberKey(owner, name, desc), mapped);
+		} else if (!mapped.equals(name)) { // no desc to match, applies to any desc
+			names.putIfAbsent(new MemberKey(owner, name, null), mapped);
+		}
+	}
+
+	@Nullable
+	private static String getMember(Map<MemberKey, String> names, String owner, String name, String descriptor) {
+		String ret = names.get(new MemberKey(owner, name, descriptor));
+		if (ret != null) return ret;
+
+		int argsEnd = descriptor != null ? descriptor.lastIndexOf(')') + 1 : 0;
+
+		if (argsEnd > 0 && argsEnd < descriptor.length()) {
+			ret = names.get(new MemberKey(owner, name, descriptor.substring(0, argsEnd)));
+			if (ret != null) return ret;
+		}
+
+		return names.get(new MemberKey(owner, name, null));
 	}
 
 	private static int getNamespaceId(MappingTreeView tree, String namespace) {
@@ -66,11 +157,18 @@ public final class MappingTreeRemapper extends Remapper {
 
 	@Override
 	public String map(String internalName) {
+		if (classNames != null) return classNames.getOrDefault(internalName, internalName);
+
 		return tree.mapClassName(internalName, fromId, toId);
 	}
 
 	@Override
 	public String mapMethodName(String owner, String name, String descriptor) {
+		if (methodNames != null) {
+			String ret = getMember(methodNames, owner, name, descriptor);
+			return ret != null ? ret : name;
+		}
+
 		MappingTreeView.ClassMappingView ownerMapping = tree.getClass(owner, fromId);
 		if (ownerMapping == null) return name;
 
@@ -80,6 +178,11 @@ public final class MappingTreeRemapper extends Remapper {
 
 	@Override
 	public String mapFieldName(String owner, String name, String descriptor) {
+		if (fieldNames != null) {
+			String ret = getMember(fieldNames, owner, name, descriptor);
+			return ret != null ? ret : name;
+		}
+
 		MappingTreeView.ClassMappingView ownerMapping = tree.getClass(owner, fromId);
 		if (ownerMapping == null) return name;
 
@@ -91,4 +194,33 @@ public final class MappingTreeRemapper extends Remapper {
 	public String mapRecordComponentName(String owner, String name, String descriptor) {
 		return mapFieldName(owner, name, descriptor);
 	}
+
+	private static final class MemberKey {
+		MemberKey(String owner, String name, @Nullable String desc) {
+			this.owner = owner;
+			this.name = name;
+			this.desc = desc;
+			this.hash = (owner.hashCode() * 31 + name.hashCode()) * 257 + Objects.hashCode(desc);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != MemberKey.class) return false;
+
+			MemberKey o = (MemberKey) obj;
+
+			return owner.equals(o.owner) && name.equals(o.name) && Objects.equals(desc, o.desc);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		private final String owner;
+		private final String name;
+		@Nullable
+		private final String desc;
+		private final int hash;
+	}
 }
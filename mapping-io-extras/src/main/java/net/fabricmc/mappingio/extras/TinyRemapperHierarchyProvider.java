@@ -20,9 +20,11 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
@@ -50,6 +52,13 @@ public final class TinyRemapperHierarchyProvider implements HierarchyInfoProvide
 		return namespace;
 	}
 
+	/**
+	 * Discard all cached method hierarchies, required after the underlying environment changed.
+	 */
+	public void clearCache() {
+		hierarchyCache.clear();
+	}
+
 	@Override
 	@Nullable
 	public String resolveField(String owner, String name, @Nullable String desc) {
@@ -79,17 +88,37 @@ public final class TinyRemapperHierarchyProvider implements HierarchyInfoProvide
 	public HierarchyData getMethodHierarchy(String owner, String name, @Nullable String desc) {
 		if (desc == null) return null; // TODO: Tiny Remapper limitation
 
+		HierarchyData ret = hierarchyCache.get(new MethodKey(owner, name, desc));
+		if (ret != null) return ret;
+
 		TrClass cls = env.getClass(owner);
 		if (cls == null) return null;
 
 		TrMethod method = cls.resolveMethod(name, desc);
 		if (method == null) return null;
 
+		if (method.getOwner() != cls) { // inherited, the group may already be known under the declaring class
+			ret = hierarchyCache.get(new MethodKey(method.getOwner().getName(), name, desc));
+			if (ret != null) return ret;
+		}
+
+		ret = computeMethodHierarchy(method);
+
+		for (TrMethod m : ret.methods) {
+			hierarchyCache.put(new MethodKey(m.getOwner().getName(), m.getName(), m.getDesc()), ret);
+		}
+
+		return ret;
+	}
+
+	private static HierarchyData computeMethodHierarchy(TrMethod method) {
 		if (!method.isVirtual()) {
 			return new HierarchyData(Collections.singletonList(method));
 		}
 
-		cls = method.getOwner();
+		String name = method.getName();
+		String desc = method.getDesc();
+		TrClass cls = method.getOwner();
 
 		List<TrMethod> methods = new ArrayList<>();
 		methods.add(method);
@@ -170,6 +199,40 @@ public final class TinyRemapperHierarchyProvider implements HierarchyInfoProvide
 		final Collection<TrMethod> methods;
 	}
 
+	private static final class MethodKey {
+		MethodKey(String owner, String name, String desc) {
+			this.owner = owner;
+			this.name = name;
+			this.desc = desc;
+			this.hash = (owner.hashCode() * 31 + name.hashCode()) * 257 + desc.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != MethodKey.class) return false;
+
+			MethodKey o = (MethodKey) obj;
+
+			return owner.equals(o.owner) && name.equals(o.name) && desc.equals(o.desc);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s.%s%s", owner, name, desc);
+		}
+
+		private final String owner;
+		private final String name;
+		private final String desc;
+		private final int hash;
+	}
+
 	private final TrEnvironment env;
 	private final String namespace;
+	private final Map<MethodKey, HierarchyData> hierarchyCache = new HashMap<>();
 }
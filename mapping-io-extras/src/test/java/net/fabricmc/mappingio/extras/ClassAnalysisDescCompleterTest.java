@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class ClassAnalysisDescCompleterTest {
+	@TempDir
+	public static Path dir;
+
+	@Test
+	public void directory() throws IOException {
+		Path classDir = Files.createDirectories(dir.resolve("classes"));
+
+		for (int i = 0; i < CLASS_COUNT; i++) {
+			Files.write(classDir.resolve("cls"+i+".class"), createClass(i));
+		}
+
+		MemoryMappingTree tree = createTree();
+		ClassAnalysisDescCompleter.process(classDir, "source", tree);
+		check(tree);
+	}
+
+	@Test
+	public void jar() throws IOException {
+		Path jar = writeJar();
+		MemoryMappingTree tree = createTree();
+		ClassAnalysisDescCompleter.process(jar, "source", tree);
+		check(tree);
+	}
+
+	@Test
+	public void parallelJar() throws IOException {
+		Path jar = writeJar();
+		MemoryMappingTree tree = createTree();
+		ClassAnalysisDescCompleter.process(jar, "source", tree, ForkJoinPool.commonPool());
+		check(tree);
+	}
+
+	@Test
+	public void zipFileJar() throws IOException {
+		Path jar = writeJar();
+
+		for (Executor executor : new Executor[] { null, ForkJoinPool.commonPool() }) {
+			MemoryMappingTree tree = createTree();
+			ClassAnalysisDescCompleter.process(jar, "source", tree, executor, true);
+			check(tree);
+		}
+	}
+
+	private static Path writeJar() throws IOException {
+		Path jar = dir.resolve("classes.jar");
+
+		try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(jar))) {
+			zos.putNextEntry(new ZipEntry("pkg/"));
+
+			for (int i = 0; i < CLASS_COUNT; i++) {
+				zos.putNextEntry(new ZipEntry("cls"+i+".class"));
+				zos.write(createClass(i));
+			}
+
+			zos.putNextEntry(new ZipEntry("resource.txt"));
+			zos.write('a');
+		}
+
+		return jar;
+	}
+
+	private static MemoryMappingTree createTree() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Collections.singletonList("target"));
+
+		for (int i = 0; i < CLASS_COUNT; i++) {
+			tree.visitClass("cls"+i);
+			tree.visitDstName(MappedElementKind.CLASS, 0, "mapped"+i);
+			tree.visitField("fld", null);
+			tree.visitMethod("mth", null);
+		}
+
+		return tree;
+	}
+
+	private static void check(MemoryMappingTree tree) {
+		for (int i = 0; i < CLASS_COUNT; i++) {
+			int ref = (i + 1) % CLASS_COUNT;
+			assertEquals("Lcls"+ref+";", tree.getClass("cls"+i).getField("fld", null).getSrcDesc());
+			assertEquals("(Lcls"+ref+";)V", tree.getClass("cls"+i).getMethod("mth", null).getSrcDesc());
+		}
+	}
+
+	private static byte[] createClass(int idx) {
+		String ref = "cls"+((idx + 1) % CLASS_COUNT);
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "cls"+idx, null, "java/lang/Object", null);
+		writer.visitField(Opcodes.ACC_PUBLIC, "fld", "L"+ref+";", null, null);
+		writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "mth", "(L"+ref+";)V", null, null);
+		writer.visitEnd();
+
+		return writer.toByteArray();
+	}
+
+	private static final int CLASS_COUNT = 50;
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class ClassAnalysisHierarchyProviderTest {
+	@TempDir
+	public static Path dir;
+
+	@Test
+	public void analyze() throws IOException {
+		writeClasses();
+		check(ClassAnalysisHierarchyProvider.create(dir, "source"));
+	}
+
+	@Test
+	public void persist() throws IOException {
+		writeClasses();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		ClassAnalysisHierarchyProvider.create(dir, "source").write(os);
+
+		check(ClassAnalysisHierarchyProvider.read(new ByteArrayInputStream(os.toByteArray())));
+	}
+
+	private static void check(ClassAnalysisHierarchyProvider provider) {
+		assertEquals("source", provider.getNamespace());
+		assertEquals(6, provider.getClassCount());
+
+		assertEquals("B", provider.resolveMethod("C", "m", "()V"));
+		assertEquals("C", provider.resolveMethod("C", "n", null));
+		assertEquals("I", provider.resolveMethod("E", "n", "()V"));
+		assertNull(provider.resolveMethod("C", "x", "()V"));
+		assertNull(provider.resolveMethod("Missing", "m", "()V"));
+		assertEquals("I", provider.resolveField("C", "f", null));
+		assertEquals("A", provider.resolveField("E", "g", "I"));
+
+		// A.m, B.m, E.m and I.m (joined through E)
+		assertEquals(4, provider.getHierarchySize(provider.getMethodHierarchy("A", "m", "()V")));
+		assertEquals(4, provider.getHierarchySize(provider.getMethodHierarchy("I", "m", "()V")));
+		assertEquals(4, provider.getHierarchySize(provider.getMethodHierarchy("C", "m", "()V")));
+		assertEquals(2, provider.getHierarchySize(provider.getMethodHierarchy("C", "n", "()V")));
+		assertEquals(1, provider.getHierarchySize(provider.getMethodHierarchy("A", "p", "()V")));
+		assertEquals(1, provider.getHierarchySize(provider.getMethodHierarchy("B", "p", "()V")));
+		assertEquals(1, provider.getHierarchySize(provider.getMethodHierarchy("B", "s", "()V")));
+		assertEquals(1, provider.getHierarchySize(provider.getMethodHierarchy("D", "m", "()V")));
+		assertEquals(0, provider.getHierarchySize(provider.getMethodHierarchy("D", "x", "()V")));
+
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Collections.singletonList("target"));
+		tree.visitClass("B");
+		tree.visitMethod("m", "()V");
+		tree.visitClass("I");
+		tree.visitMethod("m", "()V");
+		tree.visitClass("D");
+		tree.visitMethod("m", "()V");
+
+		assertEquals(2, provider.getHierarchyMethods(provider.getMethodHierarchy("A", "m", "()V"), tree).size());
+	}
+
+	private static void writeClasses() throws IOException {
+		writeClass("A", "java/lang/Object", new String[0], "m", "p", "s", "g");
+		writeClass("B", "A", new String[0], "m", "p");
+		writeClass("I", "java/lang/Object", new String[0], "m", "n", "f");
+		writeClass("C", "B", new String[] { "I" }, "n");
+		writeClass("D", "java/lang/Object", new String[0], "m");
+		writeClass("E", "B", new String[] { "I" }, "m");
+	}
+
+	private static void writeClass(String name, String superName, String[] interfaces, String... members) throws IOException {
+		boolean isInterface = name.equals("I");
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | (isInterface ? Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT : 0),
+				name, null, superName, interfaces);
+
+		for (String member : members) {
+			switch (member) {
+			case "f":
+				writer.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, member, "I", null, null);
+				break;
+			case "g":
+				writer.visitField(Opcodes.ACC_PUBLIC, member, "I", null, null);
+				break;
+			case "p":
+				writer.visitMethod(Opcodes.ACC_PRIVATE, member, "()V", null, null);
+				break;
+			case "s":
+				writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, member, "()V", null, null);
+				break;
+			default:
+				writer.visitMethod(Opcodes.ACC_PUBLIC | (isInterface ? Opcodes.ACC_ABSTRACT : 0), member, "()V", null, null);
+			}
+		}
+
+		writer.visitEnd();
+		Files.write(dir.resolve(name+".class"), writer.toByteArray());
+	}
+}
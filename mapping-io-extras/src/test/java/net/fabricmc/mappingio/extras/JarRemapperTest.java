@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import net.fabricmc.mappingio.TestHelper;
+
+public class JarRemapperTest {
+	@TempDir
+	public static Path dir;
+
+	@Test
+	public void remap() throws IOException {
+		Path input = dir.resolve("input.jar");
+		Path output = dir.resolve("output.jar");
+
+		try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(input))) {
+			zos.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+			zos.write("Manifest-Version: 1.0\n".getBytes("UTF-8"));
+			zos.putNextEntry(new ZipEntry("META-INF/SIGNER.SF"));
+			zos.putNextEntry(new ZipEntry("class_1.class"));
+			zos.write(createClass());
+			zos.putNextEntry(new ZipEntry("unmapped.class"));
+			zos.write(createUnmappedClass());
+			zos.putNextEntry(new ZipEntry("data/resource.txt"));
+			zos.write('a');
+		}
+
+		JarRemapper.remap(input, output, TestHelper.createTestTree(), "source", "target", true);
+
+		try (ZipFile zip = new ZipFile(output.toFile())) {
+			assertNotNull(zip.getEntry("META-INF/MANIFEST.MF"));
+			assertNull(zip.getEntry("META-INF/SIGNER.SF"));
+			assertNotNull(zip.getEntry("data/resource.txt"));
+			assertNull(zip.getEntry("class_1.class"));
+			assertNotNull(zip.getEntry("unmapped.class"));
+
+			List<String> names = readNames(zip, "class1Ns0Rename.class");
+			assertEquals("class1Ns0Rename", names.get(0));
+			assertEquals("field1Ns0Rename", names.get(1));
+			assertEquals("method1Ns0Rename", names.get(2));
+
+			names = readNames(zip, "unmapped.class");
+			assertEquals("Lclass1Ns0Rename;", names.get(1));
+		}
+
+		JarRemapper.remap(input, output, TestHelper.createTestTree(), "source", "target", false);
+
+		try (ZipFile zip = new ZipFile(output.toFile())) {
+			assertNull(zip.getEntry("META-INF/MANIFEST.MF"));
+			assertNull(zip.getEntry("data/resource.txt"));
+			assertNotNull(zip.getEntry("class1Ns0Rename.class"));
+		}
+	}
+
+	@Test
+	public void remapMultiRelease() throws IOException {
+		Path input = dir.resolve("input-mr.jar");
+		Path output = dir.resolve("output-mr.jar");
+
+		try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(input))) {
+			zos.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+			zos.write("Manifest-Version: 1.0\nMulti-Release: true\n".getBytes("UTF-8"));
+			zos.putNextEntry(new ZipEntry("class_1.class"));
+			zos.write(createClass());
+			zos.putNextEntry(new ZipEntry("META-INF/versions/9/class_1.class"));
+			zos.write(createClass());
+		}
+
+		JarRemapper.remap(input, output, TestHelper.createTestTree(), "source", "target", true);
+
+		try (ZipFile zip = new ZipFile(output.toFile())) {
+			assertNull(zip.getEntry("META-INF/versions/9/class_1.class"));
+			assertEquals("class1Ns0Rename", readNames(zip, "class1Ns0Rename.class").get(0));
+			assertEquals("class1Ns0Rename", readNames(zip, "META-INF/versions/9/class1Ns0Rename.class").get(0));
+		}
+	}
+
+	private static List<String> readNames(ZipFile zip, String entry) throws IOException {
+		List<String> ret = new ArrayList<>();
+
+		try (InputStream is = zip.getInputStream(zip.getEntry(entry))) {
+			new ClassReader(is).accept(new ClassVisitor(Opcodes.ASM9) {
+				@Override
+				public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+					ret.add(name);
+				}
+
+				@Override
+				public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+					ret.add(name.equals("ref") ? descriptor : name);
+					return null;
+				}
+
+				@Override
+				public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+					ret.add(name);
+					return null;
+				}
+			}, 0);
+		}
+
+		return ret;
+	}
+
+	private static byte[] createClass() {
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "class_1", null, "java/lang/Object", null);
+		writer.visitField(Opcodes.ACC_PUBLIC, "field_1", "I", null, null);
+		writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "method_1", "()I", null, null);
+		writer.visitEnd();
+
+		return writer.toByteArray();
+	}
+
+	private static byte[] createUnmappedClass() {
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "unmapped", null, "java/lang/Object", null);
+		writer.visitField(Opcodes.ACC_PUBLIC, "ref", "Lclass_1;", null, null);
+		writer.visitEnd();
+
+		return writer.toByteArray();
+	}
+}
@@ -19,12 +19,16 @@ package net.fabricmc.mappingio.extras;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.objectweb.asm.Type;
 
+import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.TestHelper;
 import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
 public class MappingTreeRemapperTest {
 	private static MappingTree mappingTree;
@@ -78,4 +82,42 @@ public class MappingTreeRemapperTest {
 		assertEquals(Type.getType("Lclass3Ns0Rename;"), remapper.mapValue(fieldType));
 		assertEquals(Type.getMethodType("()Lclass1Ns0Rename;"), remapper.mapValue(methodType));
 	}
+
+	@Test
+	public void testPrecomputed() {
+		MappingTreeRemapper precomputed = MappingTreeRemapper.precomputed(mappingTree, "source", "target");
+		assertEquals("class1Ns0Rename", precomputed.map("class_1"));
+		assertEquals("unmapped", precomputed.map("unmapped"));
+		assertEquals("method1Ns0Rename", precomputed.mapMethodName("class_1", "method_1", "()I"));
+		assertEquals("method_1", precomputed.mapMethodName("class_1", "method_1", "()V"));
+		assertEquals("field1Ns0Rename", precomputed.mapFieldName("class_1", "field_1", "I"));
+		assertEquals("()Lclass1Ns0Rename;", precomputed.mapMethodDesc("()Lclass_1;"));
+
+		MappingTreeRemapper reverse = MappingTreeRemapper.precomputed(mappingTree, "target", "source");
+		assertEquals("class_1", reverse.map("class1Ns0Rename"));
+		assertEquals("method_1", reverse.mapMethodName("class1Ns0Rename", "method1Ns0Rename", "()I"));
+		assertThrows(IllegalArgumentException.class, () -> MappingTreeRemapper.precomputed(mappingTree, "unknown", "target"));
+	}
+
+	@Test
+	public void testPrecomputedPartialDesc() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Arrays.asList("target"));
+		tree.visitClass("a");
+		tree.visitMethod("m", "(I)");
+		tree.visitDstName(MappedElementKind.METHOD, 0, "n");
+		tree.visitMethod("m", "(J)V");
+		tree.visitDstName(MappedElementKind.METHOD, 0, "o");
+		tree.visitEnd();
+
+		MappingTreeRemapper live = new MappingTreeRemapper(tree, "source", "target");
+		MappingTreeRemapper precomputed = MappingTreeRemapper.precomputed(tree, "source", "target");
+
+		for (String desc : new String[] { "(I)V", "(I)I", "(J)V", "(Z)V" }) {
+			assertEquals(live.mapMethodName("a", "m", desc), precomputed.mapMethodName("a", "m", desc), desc);
+		}
+
+		assertEquals("n", precomputed.mapMethodName("a", "m", "(I)V"));
+		assertEquals("m", precomputed.mapMethodName("a", "m", "(Z)V"));
+	}
 }
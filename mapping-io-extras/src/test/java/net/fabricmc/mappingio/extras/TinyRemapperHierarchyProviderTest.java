@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.extras;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import net.fabricmc.mappingio.extras.TinyRemapperHierarchyProvider.HierarchyData;
+import net.fabricmc.tinyremapper.TinyRemapper;
+import net.fabricmc.tinyremapper.api.TrEnvironment;
+
+public class TinyRemapperHierarchyProviderTest {
+	@TempDir
+	public static Path dir;
+
+	@Test
+	public void hierarchyCache() throws IOException {
+		writeClass("I", "java/lang/Object", new String[0]);
+		writeClass("A", "java/lang/Object", new String[] { "I" });
+		writeClass("B", "A", new String[0]);
+		writeClass("C", "java/lang/Object", new String[0]);
+
+		AtomicReference<TrEnvironment> env = new AtomicReference<>();
+		TinyRemapper remapper = TinyRemapper.newRemapper()
+				.extraStateProcessor(env::set)
+				.build();
+
+		try {
+			remapper.readInputs(dir);
+			remapper.apply((name, bytes) -> { });
+
+			TinyRemapperHierarchyProvider provider = new TinyRemapperHierarchyProvider(env.get(), "source");
+
+			// I.m, A.m and B.m form one group, sharing the data regardless of the queried member
+			HierarchyData hierarchy = provider.getMethodHierarchy("B", "m", "()V");
+			assertEquals(3, provider.getHierarchySize(hierarchy));
+			assertSame(hierarchy, provider.getMethodHierarchy("A", "m", "()V"));
+			assertSame(hierarchy, provider.getMethodHierarchy("I", "m", "()V"));
+
+			HierarchyData other = provider.getMethodHierarchy("C", "m", "()V");
+			assertEquals(1, provider.getHierarchySize(other));
+			assertNotSame(hierarchy, other);
+
+			provider.clearCache();
+			HierarchyData recomputed = provider.getMethodHierarchy("A", "m", "()V");
+			assertNotSame(hierarchy, recomputed);
+			assertEquals(3, provider.getHierarchySize(recomputed));
+			assertSame(recomputed, provider.getMethodHierarchy("B", "m", "()V"));
+		} finally {
+			remapper.finish();
+		}
+	}
+
+	private static void writeClass(String name, String superName, String[] interfaces) throws IOException {
+		boolean isInterface = name.equals("I");
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | (isInterface ? Opcodes.ACC_INTERFACE : 0),
+				name, null, superName, interfaces);
+		writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "m", "()V", null, null);
+		writer.visitEnd();
+		Files.write(dir.resolve(name+".class"), writer.toByteArray());
+	}
+}
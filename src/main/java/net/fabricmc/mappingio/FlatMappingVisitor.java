@@ -30,6 +30,9 @@ import net.fabricmc.mappingio.adapter.RegularAsFlatMappingVisitor;
 
 /**
  * A mapping visitor that provides the entire data for a given element within a single visit call.
+ *
+ * <p>Array arguments are only valid for the duration of the call: callers may reuse and overwrite them
+ * for subsequent elements, so implementations must neither retain nor modify them.
  */
 public interface FlatMappingVisitor {
 	default Set<MappingFlag> getFlags() {
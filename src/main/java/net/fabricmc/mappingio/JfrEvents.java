@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Java Flight Recorder events for the main processing phases.
+ *
+ * <p>The event types get created through {@code jdk.jfr.EventFactory} via reflection, as the library targets Java 8
+ * and can't link against {@code jdk.jfr} directly. On runtimes without JFR, all event types report as disabled. While
+ * an event type isn't enabled in any recording, {@link EventType#begin} only costs a single check and no allocation.
+ */
+@ApiStatus.Internal
+public final class JfrEvents {
+	public static final EventType READ = new EventType("Read", "Mapping Read",
+			"Reading mappings through MappingReader",
+			new String[] { "format", "path", "chars" },
+			new Class<?>[] { String.class, String.class, long.class });
+	public static final EventType ACCEPT = new EventType("TreeAccept", "Mapping Tree Accept",
+			"Visiting the contents of a MemoryMappingTree",
+			new String[] { "visitor", "classes", "passes" },
+			new Class<?>[] { String.class, int.class, int.class });
+	public static final EventType PROPAGATE_NAMES = new EventType("PropagateNames", "Mapping Name Propagation",
+			"Propagating method names across hierarchies in a MemoryMappingTree",
+			new String[] { "namespace", "classes", "hierarchies" },
+			new Class<?>[] { String.class, int.class, int.class });
+	public static final EventType WRITE = new EventType("Write", "Mapping Write",
+			"Writing mappings to a file, from opening until closing it",
+			new String[] { "path", "bytes" },
+			new Class<?>[] { String.class, long.class });
+
+	private JfrEvents() {
+	}
+
+	public static final class EventType {
+		EventType(String name, String label, String description, String[] fieldNames, Class<?>[] fieldTypes) {
+			Object factory = null;
+			Object probe = null;
+
+			if (Jfr.SUPPORTED) {
+				try {
+					List<Object> annotations = Arrays.asList(
+							Jfr.NEW_ANNOTATION.invoke(Jfr.NAME_ANNOTATION, (Object) (EVENT_NAME_PREFIX + name)),
+							Jfr.NEW_ANNOTATION.invoke(Jfr.LABEL_ANNOTATION, (Object) label),
+							Jfr.NEW_ANNOTATION.invoke(Jfr.DESCRIPTION_ANNOTATION, (Object) description),
+							Jfr.NEW_ANNOTATION.invoke(Jfr.CATEGORY_ANNOTATION, (Object) new String[] { CATEGORY }));
+					List<Object> fields = new ArrayList<>(fieldNames.length);
+
+					for (int i = 0; i < fieldNames.length; i++) {
+						fields.add(Jfr.NEW_VALUE_DESCRIPTOR.invoke(fieldTypes[i], fieldNames[i]));
+					}
+
+					factory = Jfr.CREATE_FACTORY.invoke(annotations, fields);
+					probe = Jfr.NEW_EVENT.invoke(factory);
+				} catch (Throwable t) {
+					factory = null;
+					probe = null;
+				}
+			}
+
+			this.factory = factory;
+			this.probe = probe;
+		}
+
+		/**
+		 * Start timing a new event.
+		 *
+		 * @return The started event, or {@code null} if JFR is unavailable or the event type isn't enabled.
+		 */
+		@Nullable
+		public Event begin() {
+			if (probe == null) return null;
+
+			try {
+				if (!(boolean) Jfr.IS_ENABLED.invokeExact(probe)) return null;
+
+				Object event = Jfr.NEW_EVENT.invoke(factory);
+				Jfr.BEGIN.invokeExact(event);
+
+				return new Event(event);
+			} catch (Throwable t) {
+				return null;
+			}
+		}
+
+		private final Object factory;
+		private final Object probe;
+	}
+
+	public static final class Event {
+		Event(Object event) {
+			this.event = event;
+		}
+
+		/**
+		 * End the event and record it with the supplied field values, in the order the event type declares them.
+		 */
+		public void commit(Object... values) {
+			try {
+				if (!(boolean) Jfr.SHOULD_COMMIT.invokeExact(event)) return;
+
+				for (int i = 0; i < values.length; i++) {
+					Jfr.SET.invokeExact(event, i, values[i]);
+				}
+
+				Jfr.COMMIT.invokeExact(event);
+			} catch (Throwable t) {
+				// recording failures must not affect the actual work
+			}
+		}
+
+		private final Object event;
+	}
+
+	private static final String EVENT_NAME_PREFIX = "net.fabricmc.mappingio.";
+	private static final String CATEGORY = "mapping-io";
+
+	/**
+	 * Lazily resolved JFR API, kept separate to initialize before the event type constants.
+	 */
+	private static final class Jfr {
+		private static final boolean SUPPORTED;
+		private static final Class<?> NAME_ANNOTATION;
+		private static final Class<?> LABEL_ANNOTATION;
+		private static final Class<?> DESCRIPTION_ANNOTATION;
+		private static final Class<?> CATEGORY_ANNOTATION;
+		private static final MethodHandle NEW_ANNOTATION;
+		private static final MethodHandle NEW_VALUE_DESCRIPTOR;
+		private static final MethodHandle CREATE_FACTORY;
+		private static final MethodHandle NEW_EVENT;
+		private static final MethodHandle IS_ENABLED;
+		private static final MethodHandle SHOULD_COMMIT;
+		private static final MethodHandle BEGIN;
+		private static final MethodHandle SET;
+		private static final MethodHandle COMMIT;
+
+		static {
+			boolean supported = false;
+			Class<?> nameAnnotation = null;
+			Class<?> labelAnnotation = null;
+			Class<?> descriptionAnnotation = null;
+			Class<?> categoryAnnotation = null;
+			MethodHandle newAnnotation = null;
+			MethodHandle newValueDescriptor = null;
+			MethodHandle createFactory = null;
+			MethodHandle newEvent = null;
+			MethodHandle isEnabled = null;
+			MethodHandle shouldCommit = null;
+			MethodHandle begin = null;
+			MethodHandle set = null;
+			MethodHandle commit = null;
+
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				Class<?> eventCls = Class.forName("jdk.jfr.Event");
+				Class<?> factoryCls = Class.forName("jdk.jfr.EventFactory");
+				Class<?> annotationElementCls = Class.forName("jdk.jfr.AnnotationElement");
+				Class<?> valueDescriptorCls = Class.forName("jdk.jfr.ValueDescriptor");
+				nameAnnotation = Class.forName("jdk.jfr.Name");
+				labelAnnotation = Class.forName("jdk.jfr.Label");
+				descriptionAnnotation = Class.forName("jdk.jfr.Description");
+				categoryAnnotation = Class.forName("jdk.jfr.Category");
+
+				newAnnotation = lookup.findConstructor(annotationElementCls, MethodType.methodType(void.class, Class.class, Object.class))
+						.asType(MethodType.methodType(Object.class, Class.class, Object.class));
+				newValueDescriptor = lookup.findConstructor(valueDescriptorCls, MethodType.methodType(void.class, Class.class, String.class))
+						.asType(MethodType.methodType(Object.class, Class.class, String.class));
+				createFactory = lookup.findStatic(factoryCls, "create", MethodType.methodType(factoryCls, List.class, List.class))
+						.asType(MethodType.methodType(Object.class, List.class, List.class));
+				newEvent = lookup.findVirtual(factoryCls, "newEvent", MethodType.methodType(eventCls))
+						.asType(MethodType.methodType(Object.class, Object.class));
+				isEnabled = lookup.findVirtual(eventCls, "isEnabled", MethodType.methodType(boolean.class))
+						.asType(MethodType.methodType(boolean.class, Object.class));
+				shouldCommit = lookup.findVirtual(eventCls, "shouldCommit", MethodType.methodType(boolean.class))
+						.asType(MethodType.methodType(boolean.class, Object.class));
+				begin = lookup.findVirtual(eventCls, "begin", MethodType.methodType(void.class))
+						.asType(MethodType.methodType(void.class, Object.class));
+				set = lookup.findVirtual(eventCls, "set", MethodType.methodType(void.class, int.class, Object.class))
+						.asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+				commit = lookup.findVirtual(eventCls, "commit", MethodType.methodType(void.class))
+						.asType(MethodType.methodType(void.class, Object.class));
+
+				supported = true;
+			} catch (Throwable t) {
+				// JFR unavailable (Java 8 without the backport or a runtime image without the jdk.jfr module)
+			}
+
+			SUPPORTED = supported;
+			NAME_ANNOTATION = nameAnnotation;
+			LABEL_ANNOTATION = labelAnnotation;
+			DESCRIPTION_ANNOTATION = descriptionAnnotation;
+			CATEGORY_ANNOTATION = categoryAnnotation;
+			NEW_ANNOTATION = newAnnotation;
+			NEW_VALUE_DESCRIPTOR = newValueDescriptor;
+			CREATE_FACTORY = createFactory;
+			NEW_EVENT = newEvent;
+			IS_ENABLED = isEnabled;
+			SHOULD_COMMIT = shouldCommit;
+			BEGIN = begin;
+			SET = set;
+			COMMIT = commit;
+		}
+	}
+}
@@ -17,6 +17,7 @@
 package net.fabricmc.mappingio;
 
 import java.io.BufferedReader;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -228,9 +229,11 @@ public final class MappingReader {
 
 		if (format.hasSingleFile()) {
 			try (Reader reader = Files.newBufferedReader(path)) {
-				read(reader, format, visitor);
+				readFile(reader, format, visitor, path);
 			}
 		} else {
+			JfrEvents.Event event = JfrEvents.READ.begin();
+
 			switch (format) {
 			case ENIGMA_DIR:
 				EnigmaDirReader.read(path, visitor);
@@ -238,6 +241,8 @@ public final class MappingReader {
 			default:
 				throw new IllegalStateException();
 			}
+
+			if (event != null) event.commit(format.name, path.toString(), -1L);
 		}
 	}
 
@@ -270,6 +275,13 @@ public final class MappingReader {
 		}
 
 		checkReaderCompatible(format);
+		readFile(reader, format, visitor, null);
+	}
+
+	private static void readFile(Reader reader, MappingFormat format, MappingVisitor visitor, @Nullable Path path) throws IOException {
+		JfrEvents.Event event = JfrEvents.READ.begin();
+		CharCountingReader counter = null;
+		if (event != null) reader = counter = new CharCountingReader(reader);
 
 		switch (format) {
 		case TINY_FILE:
@@ -305,6 +317,8 @@ public final class MappingReader {
 		default:
 			throw new IllegalStateException();
 		}
+
+		if (event != null) event.commit(format.name, path != null ? path.toString() : null, counter.count);
 	}
 
 	private static void checkReaderCompatible(MappingFormat format) throws IOException {
@@ -313,5 +327,37 @@ public final class MappingReader {
 		}
 	}
 
+	/**
+	 * Counts the chars consumed by a format reader, only used while the read is being recorded.
+	 */
+	private static final class CharCountingReader extends FilterReader {
+		CharCountingReader(Reader in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int ret = in.read();
+			if (ret >= 0) count++;
+
+			return ret;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			int ret = in.read(cbuf, off, len);
+			if (ret > 0) count += ret;
+
+			return ret;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		long count;
+	}
+
 	private static final int DETECT_HEADER_LEN = 4096;
 }
@@ -19,12 +19,12 @@ package net.fabricmc.mappingio;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
 import net.fabricmc.mappingio.format.enigma.EnigmaDirWriter;
 import net.fabricmc.mappingio.format.enigma.EnigmaFileWriter;
 import net.fabricmc.mappingio.format.jobf.JobfFileWriter;
@@ -41,7 +41,7 @@ public interface MappingWriter extends Closeable, MappingVisitor {
 	@Nullable
 	static MappingWriter create(Path file, MappingFormat format) throws IOException {
 		if (format.hasSingleFile()) {
-			return create(Files.newBufferedWriter(file), format);
+			return create(Utf8FileWriter.open(file), format);
 		} else {
 			switch (format) {
 			case ENIGMA_DIR: return new EnigmaDirWriter(file, true);
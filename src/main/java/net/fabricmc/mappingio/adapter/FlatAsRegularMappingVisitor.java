@@ -34,6 +34,11 @@ import net.fabricmc.mappingio.MappingVisitor;
  * <p>Element data is relayed upon {@link #visitElementContent(MappedElementKind)}
  * or {@link #visitComment(MappedElementKind, String)} invocation.
  * If no data was collected for the current element, the corresponding {@link FlatMappingVisitor}'s visit method is not called.
+ *
+ * <p>The destination name and descriptor arrays are reused for every element of the same depth,
+ * see {@link FlatMappingVisitor}. Parent element names are only supplied if the flat visitor requests
+ * {@link MappingFlag#NEEDS_ELEMENT_UNIQUENESS}, destination descriptors only if it requests
+ * {@link MappingFlag#NEEDS_DST_FIELD_DESC} or {@link MappingFlag#NEEDS_DST_METHOD_DESC} respectively.
  */
 public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 	public FlatAsRegularMappingVisitor(FlatMappingVisitor out) {
@@ -60,17 +65,15 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 		next.visitNamespaces(srcNamespace, dstNamespaces);
 
 		int count = dstNamespaces.size();
-		dstNames = new String[count];
-		Set<MappingFlag> flags = next.getFlags();
-
-		if (flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS)) {
-			dstClassNames = new String[count];
-			dstMemberNames = new String[count];
-		} else {
-			dstClassNames = dstMemberNames = null;
-		}
+		dstClassNames = new String[count];
+		dstMemberNames = new String[count];
+		dstSubNames = new String[count];
+		dstMemberDescs = new String[count];
 
-		dstMemberDescs = flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC) || flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC) ? new String[count] : null;
+		Set<MappingFlag> flags = next.getFlags();
+		relayParentNames = flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS);
+		relayDstFieldDescs = flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC);
+		relayDstMethodDescs = flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC);
 	}
 
 	@Override
@@ -87,8 +90,7 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 	public boolean visitClass(String srcName) {
 		this.srcClsName = srcName;
 
-		Arrays.fill(dstNames, null);
-		if (dstClassNames != null) Arrays.fill(dstClassNames, null);
+		Arrays.fill(dstClassNames, null);
 
 		return true;
 	}
@@ -98,9 +100,8 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 		this.srcMemberName = srcName;
 		this.srcMemberDesc = srcDesc;
 
-		Arrays.fill(dstNames, null);
-		if (dstMemberNames != null) Arrays.fill(dstMemberNames, null);
-		if (dstMemberDescs != null) Arrays.fill(dstMemberDescs, null);
+		Arrays.fill(dstMemberNames, null);
+		Arrays.fill(dstMemberDescs, null);
 
 		return true;
 	}
@@ -110,9 +111,8 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 		this.srcMemberName = srcName;
 		this.srcMemberDesc = srcDesc;
 
-		Arrays.fill(dstNames, null);
-		if (dstMemberNames != null) Arrays.fill(dstMemberNames, null);
-		if (dstMemberDescs != null) Arrays.fill(dstMemberDescs, null);
+		Arrays.fill(dstMemberNames, null);
+		Arrays.fill(dstMemberDescs, null);
 
 		return true;
 	}
@@ -123,7 +123,7 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 		this.argIdx = argPosition;
 		this.lvIndex = lvIndex;
 
-		Arrays.fill(dstNames, null);
+		Arrays.fill(dstSubNames, null);
 
 		return true;
 	}
@@ -136,7 +136,7 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 		this.startOpIdx = startOpIdx;
 		this.endOpIdx = endOpIdx;
 
-		Arrays.fill(dstNames, null);
+		Arrays.fill(dstSubNames, null);
 
 		return true;
 	}
@@ -148,46 +148,36 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 
 	@Override
 	public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
-		dstNames[namespace] = name;
+		getDstNames(targetKind)[namespace] = name;
 	}
 
 	@Override
 	public void visitDstDesc(MappedElementKind targetKind, int namespace, String desc) {
-		if (dstMemberDescs != null) dstMemberDescs[namespace] = desc;
+		if (relayDstDescs(targetKind)) dstMemberDescs[namespace] = desc;
 	}
 
 	@Override
 	public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
-		boolean relay;
-
 		switch (targetKind) {
 		case CLASS:
-			relay = next.visitClass(srcClsName, dstNames);
-			if (relay && dstClassNames != null) System.arraycopy(dstNames, 0, dstClassNames, 0, dstNames.length);
-			break;
+			return next.visitClass(srcClsName, dstClassNames);
 		case FIELD:
-			relay = next.visitField(srcClsName, srcMemberName, srcMemberDesc, dstClassNames, dstNames, dstMemberDescs);
-			if (relay && dstMemberNames != null) System.arraycopy(dstNames, 0, dstMemberNames, 0, dstNames.length);
-			break;
+			return next.visitField(srcClsName, srcMemberName, srcMemberDesc,
+					parentClassNames(), dstMemberNames, memberDescs(targetKind));
 		case METHOD:
-			relay = next.visitMethod(srcClsName, srcMemberName, srcMemberDesc, dstClassNames, dstNames, dstMemberDescs);
-			if (relay && dstMemberNames != null) System.arraycopy(dstNames, 0, dstMemberNames, 0, dstNames.length);
-			break;
+			return next.visitMethod(srcClsName, srcMemberName, srcMemberDesc,
+					parentClassNames(), dstMemberNames, memberDescs(targetKind));
 		case METHOD_ARG:
-			relay = next.visitMethodArg(srcClsName, srcMemberName, srcMemberDesc,
+			return next.visitMethodArg(srcClsName, srcMemberName, srcMemberDesc,
 					argIdx, lvIndex, srcMemberSubName,
-					dstClassNames, dstMemberNames, dstMemberDescs, dstNames);
-			break;
+					parentClassNames(), parentMemberNames(), parentMethodDescs(), dstSubNames);
 		case METHOD_VAR:
-			relay = next.visitMethodVar(srcClsName, srcMemberName, srcMemberDesc,
+			return next.visitMethodVar(srcClsName, srcMemberName, srcMemberDesc,
 					argIdx, lvIndex, startOpIdx, endOpIdx, srcMemberSubName,
-					dstClassNames, dstMemberNames, dstMemberDescs, dstNames);
-			break;
+					parentClassNames(), parentMemberNames(), parentMethodDescs(), dstSubNames);
 		default:
 			throw new IllegalStateException();
 		}
-
-		return relay;
 	}
 
 	@Override
@@ -198,23 +188,59 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 			break;
 		case FIELD:
 			next.visitFieldComment(srcClsName, srcMemberName, srcMemberDesc,
-					dstClassNames, dstMemberNames, dstMemberDescs, comment);
+					parentClassNames(), dstMemberNames, memberDescs(targetKind), comment);
 			break;
 		case METHOD:
 			next.visitMethodComment(srcClsName, srcMemberName, srcMemberDesc,
-					dstClassNames, dstMemberNames, dstMemberDescs, comment);
+					parentClassNames(), dstMemberNames, memberDescs(targetKind), comment);
 			break;
 		case METHOD_ARG:
 			next.visitMethodArgComment(srcClsName, srcMemberName, srcMemberDesc, argIdx, lvIndex, srcMemberSubName,
-					dstClassNames, dstMemberNames, dstMemberDescs, dstNames, comment);
+					parentClassNames(), parentMemberNames(), parentMethodDescs(), dstSubNames, comment);
 			break;
 		case METHOD_VAR:
 			next.visitMethodVarComment(srcClsName, srcMemberName, srcMemberDesc, argIdx, lvIndex, startOpIdx, endOpIdx, srcMemberSubName,
-					dstClassNames, dstMemberNames, dstMemberDescs, dstNames, comment);
+					parentClassNames(), parentMemberNames(), parentMethodDescs(), dstSubNames, comment);
 			break;
 		}
 	}
 
+	private String[] getDstNames(MappedElementKind kind) {
+		switch (kind) {
+		case CLASS:
+			return dstClassNames;
+		case FIELD:
+		case METHOD:
+			return dstMemberNames;
+		default:
+			return dstSubNames;
+		}
+	}
+
+	private boolean relayDstDescs(MappedElementKind kind) {
+		return kind == MappedElementKind.FIELD ? relayDstFieldDescs : relayDstMethodDescs;
+	}
+
+	@Nullable
+	private String[] parentClassNames() {
+		return relayParentNames ? dstClassNames : null;
+	}
+
+	@Nullable
+	private String[] parentMemberNames() {
+		return relayParentNames ? dstMemberNames : null;
+	}
+
+	@Nullable
+	private String[] memberDescs(MappedElementKind kind) {
+		return relayDstDescs(kind) ? dstMemberDescs : null;
+	}
+
+	@Nullable
+	private String[] parentMethodDescs() {
+		return relayParentNames && relayDstMethodDescs ? dstMemberDescs : null;
+	}
+
 	private final FlatMappingVisitor next;
 
 	private String srcClsName;
@@ -222,8 +248,12 @@ public final class FlatAsRegularMappingVisitor implements MappingVisitor {
 	private String srcMemberDesc;
 	private String srcMemberSubName;
 	private int argIdx, lvIndex, startOpIdx, endOpIdx;
-	private String[] dstNames;
+	private boolean relayParentNames;
+	private boolean relayDstFieldDescs;
+	private boolean relayDstMethodDescs;
+	// per element depth, reused for every element and only valid during the flat visitor call
 	private String[] dstClassNames;
 	private String[] dstMemberNames;
+	private String[] dstSubNames;
 	private String[] dstMemberDescs;
 }
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingVisitor;
+
+/**
+ * A forwarding visitor collecting metrics about the visitation passing through it.
+ *
+ * <p>For every pass it counts the visited elements per kind, destination names and comments, and measures the time
+ * spent within the next visitor (downstream) as opposed to everything else, i.e. the reader or adapters feeding this
+ * visitor (upstream). The results get reported to a {@link Listener} after each {@link #visitEnd}.
+ *
+ * <p>Placing instances at multiple positions in a visitor chain allows attributing time to the individual stages, as
+ * each instance's downstream time includes all later stages.
+ */
+@ApiStatus.Experimental
+public final class InstrumentingMappingVisitor extends ForwardingMappingVisitor {
+	/**
+	 * @param next The next visitor to forward the data to.
+	 * @param listener The receiver of the metrics collected for each pass.
+	 */
+	public InstrumentingMappingVisitor(MappingVisitor next, Listener listener) {
+		this(next, listener, true);
+	}
+
+	/**
+	 * @param next The next visitor to forward the data to.
+	 * @param listener The receiver of the metrics collected for each pass.
+	 * @param measureTime Whether to measure the time spent, only counting elements otherwise.
+	 */
+	public InstrumentingMappingVisitor(MappingVisitor next, Listener listener, boolean measureTime) {
+		super(next);
+
+		this.listener = Objects.requireNonNull(listener, "null listener");
+		this.measureTime = measureTime;
+	}
+
+	@Override
+	public void reset() {
+		next.reset();
+
+		pass = 0;
+		passStartTime = 0;
+		clearCounts();
+	}
+
+	@Override
+	public boolean visitHeader() throws IOException {
+		long start = startEvent();
+
+		try {
+			return next.visitHeader();
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) throws IOException {
+		long start = startEvent();
+
+		try {
+			next.visitNamespaces(srcNamespace, dstNamespaces);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public void visitMetadata(String key, @Nullable String value) throws IOException {
+		long start = startEvent();
+		metadataCount++;
+
+		try {
+			next.visitMetadata(key, value);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitContent() throws IOException {
+		long start = startEvent();
+
+		try {
+			return next.visitContent();
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitClass(String srcName) throws IOException {
+		long start = startEvent();
+		elementCounts[MappedElementKind.CLASS.ordinal()]++;
+
+		try {
+			return next.visitClass(srcName);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitField(String srcName, @Nullable String srcDesc) throws IOException {
+		long start = startEvent();
+		elementCounts[MappedElementKind.FIELD.ordinal()]++;
+
+		try {
+			return next.visitField(srcName, srcDesc);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitMethod(String srcName, @Nullable String srcDesc) throws IOException {
+		long start = startEvent();
+		elementCounts[MappedElementKind.METHOD.ordinal()]++;
+
+		try {
+			return next.visitMethod(srcName, srcDesc);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitMethodArg(int argPosition, int lvIndex, @Nullable String srcName) throws IOException {
+		long start = startEvent();
+		elementCounts[MappedElementKind.METHOD_ARG.ordinal()]++;
+
+		try {
+			return next.visitMethodArg(argPosition, lvIndex, srcName);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName) throws IOException {
+		long start = startEvent();
+		elementCounts[MappedElementKind.METHOD_VAR.ordinal()]++;
+
+		try {
+			return next.visitMethodVar(lvtRowIndex, lvIndex, startOpIdx, endOpIdx, srcName);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public void visitDstName(MappedElementKind targetKind, int namespace, String name) throws IOException {
+		long start = startEvent();
+		dstNameCount++;
+
+		try {
+			next.visitDstName(targetKind, namespace, name);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public void visitDstDesc(MappedElementKind targetKind, int namespace, String desc) throws IOException {
+		long start = startEvent();
+
+		try {
+			next.visitDstDesc(targetKind, namespace, desc);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+		long start = startEvent();
+
+		try {
+			return next.visitElementContent(targetKind);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public void visitComment(MappedElementKind targetKind, String comment) throws IOException {
+		long start = startEvent();
+		commentCount++;
+
+		try {
+			next.visitComment(targetKind, comment);
+		} finally {
+			endEvent(start);
+		}
+	}
+
+	@Override
+	public boolean visitEnd() throws IOException {
+		long start = startEvent();
+		boolean ret;
+
+		try {
+			ret = next.visitEnd();
+		} finally {
+			endEvent(start);
+		}
+
+		long totalNanos = measureTime ? System.nanoTime() - passStartTime : 0;
+		listener.passCompleted(new PassMetrics(pass, elementCounts.clone(), dstNameCount, commentCount, metadataCount, downstreamNanos, totalNanos, !ret));
+
+		pass++;
+		passStartTime = 0;
+		clearCounts();
+
+		return ret;
+	}
+
+	private long startEvent() {
+		if (!measureTime) return 0;
+
+		long ret = System.nanoTime();
+		if (passStartTime == 0) passStartTime = ret;
+
+		return ret;
+	}
+
+	private void endEvent(long start) {
+		if (measureTime) downstreamNanos += System.nanoTime() - start;
+	}
+
+	private void clearCounts() {
+		Arrays.fill(elementCounts, 0);
+		dstNameCount = 0;
+		commentCount = 0;
+		metadataCount = 0;
+		downstreamNanos = 0;
+	}
+
+	/**
+	 * Receiver for the collected metrics, e.g. forwarding them to a metrics registry or event recorder.
+	 */
+	public interface Listener {
+		/**
+		 * Called after the next visitor's {@link MappingVisitor#visitEnd} returned.
+		 */
+		void passCompleted(PassMetrics metrics);
+	}
+
+	/**
+	 * Metrics for a single visitation pass.
+	 */
+	public static final class PassMetrics {
+		PassMetrics(int pass, long[] elementCounts, long dstNameCount, long commentCount, long metadataCount,
+				long downstreamNanos, long totalNanos, boolean restartRequested) {
+			this.pass = pass;
+			this.elementCounts = elementCounts;
+			this.dstNameCount = dstNameCount;
+			this.commentCount = commentCount;
+			this.metadataCount = metadataCount;
+			this.downstreamNanos = downstreamNanos;
+			this.totalNanos = totalNanos;
+			this.restartRequested = restartRequested;
+		}
+
+		/**
+		 * @return The zero-based index of the pass since creation or the last {@link MappingVisitor#reset()}.
+		 */
+		public int getPass() {
+			return pass;
+		}
+
+		public long getElementCount(MappedElementKind kind) {
+			return elementCounts[kind.ordinal()];
+		}
+
+		public long getDstNameCount() {
+			return dstNameCount;
+		}
+
+		public long getCommentCount() {
+			return commentCount;
+		}
+
+		public long getMetadataCount() {
+			return metadataCount;
+		}
+
+		/**
+		 * @return The time spent within the next visitor, 0 if not measured.
+		 */
+		public long getDownstreamNanos() {
+			return downstreamNanos;
+		}
+
+		/**
+		 * @return The time spent outside of the next visitor between the first event and the end of the pass,
+		 * 0 if not measured.
+		 */
+		public long getUpstreamNanos() {
+			return totalNanos - downstreamNanos;
+		}
+
+		/**
+		 * @return The time between the first event and the end of the pass, 0 if not measured.
+		 */
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		/**
+		 * @return Whether the next visitor requested another pass.
+		 */
+		public boolean isRestartRequested() {
+			return restartRequested;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder ret = new StringBuilder("pass ").append(pass).append(':');
+
+			for (MappedElementKind kind : MappedElementKind.values()) {
+				ret.append(' ').append(kind).append('=').append(elementCounts[kind.ordinal()]);
+			}
+
+			return ret.append(" dstNames=").append(dstNameCount)
+					.append(" comments=").append(commentCount)
+					.append(" downstream=").append(downstreamNanos / 1000).append("us")
+					.append(" upstream=").append(getUpstreamNanos() / 1000).append("us")
+					.append(restartRequested ? " (restart)" : "")
+					.toString();
+		}
+
+		private final int pass;
+		private final long[] elementCounts;
+		private final long dstNameCount;
+		private final long commentCount;
+		private final long metadataCount;
+		private final long downstreamNanos;
+		private final long totalNanos;
+		private final boolean restartRequested;
+	}
+
+	private final Listener listener;
+	private final boolean measureTime;
+
+	private int pass;
+	private long passStartTime;
+	private final long[] elementCounts = new long[MappedElementKind.values().length];
+	private long dstNameCount;
+	private long commentCount;
+	private long metadataCount;
+	private long downstreamNanos;
+}
@@ -26,12 +26,16 @@ import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
 /**
  * A mapping visitor that completes missing destination names.
  *
  * <p>Some mapping formats allow omitting destination names if equal to the source name.
  * This visitor fills in these "holes" by copying names from another namespace.
+ *
+ * <p>If the next visitor is an empty {@link MemoryMappingTree}, the names are passed through unchanged and completed
+ * within the tree by {@link MemoryMappingTree#completeNamespaces(Map)} once the visit pass finished.
  */
 public final class MappingNsCompleter extends ForwardingMappingVisitor {
 	/**
@@ -80,6 +84,16 @@ public final class MappingNsCompleter extends ForwardingMappingVisitor {
 			}
 		}
 
+		completeInTree = relayHeaderOrMetadata
+				&& next instanceof MemoryMappingTree
+				&& ((MemoryMappingTree) next).getSrcNamespace() == null // no merging with existing content
+				&& ((MemoryMappingTree) next).getHierarchyInfoProvider() == null; // names get propagated on visitEnd, before the completion
+
+		if (completeInTree) {
+			next.visitNamespaces(srcNamespace, dstNamespaces);
+			return;
+		}
+
 		int count = dstNamespaces.size();
 		alternativesMapping = new int[count];
 		dstNames = new String[count];
@@ -151,12 +165,18 @@ public final class MappingNsCompleter extends ForwardingMappingVisitor {
 	}
 
 	@Override
-	public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
-		dstNames[namespace] = name;
+	public void visitDstName(MappedElementKind targetKind, int namespace, String name) throws IOException {
+		if (completeInTree) {
+			next.visitDstName(targetKind, namespace, name);
+		} else {
+			dstNames[namespace] = name;
+		}
 	}
 
 	@Override
 	public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+		if (completeInTree) return next.visitElementContent(targetKind);
+
 		nsLoop: for (int i = 0; i < dstNames.length; i++) {
 			String name = dstNames[i];
 
@@ -192,6 +212,14 @@ public final class MappingNsCompleter extends ForwardingMappingVisitor {
 		return next.visitElementContent(targetKind);
 	}
 
+	@Override
+	public boolean visitEnd() throws IOException {
+		if (!next.visitEnd()) return false;
+		if (completeInTree) ((MemoryMappingTree) next).completeNamespaces(alternatives);
+
+		return true;
+	}
+
 	private final Map<String, String> alternatives;
 	private final boolean addMissingNs;
 	private int[] alternativesMapping;
@@ -200,4 +228,5 @@ public final class MappingNsCompleter extends ForwardingMappingVisitor {
 	private String[] dstNames;
 
 	private boolean relayHeaderOrMetadata;
+	private boolean completeInTree;
 }
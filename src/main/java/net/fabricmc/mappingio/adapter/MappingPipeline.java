@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingVisitor;
+
+/**
+ * Builder for a single mapping visitor doing the work of a chain of namespace adapters.
+ *
+ * <p>The namespace stages ({@link MappingNsRenamer}, {@link MappingDstNsReorder} and {@link MappingNsCompleter}) are
+ * applied in the order they were added, like a visitor chain with the first added adapter visited first. When the
+ * namespaces get visited, they are combined into one destination namespace map, so every element passes through a
+ * single visitor. {@link MissingDescFilter} doesn't depend on its position and is applied to the whole pipeline.
+ *
+ * <p>The builder may be reused, each {@link #build} call creates an independent visitor.
+ */
+@ApiStatus.Experimental
+public final class MappingPipeline {
+	/**
+	 * Rename namespaces, see {@link MappingNsRenamer}.
+	 */
+	public MappingPipeline renameNamespaces(Map<String, String> nameMap) {
+		Objects.requireNonNull(nameMap, "null name map");
+
+		stages.add(state -> {
+			state.srcNamespace = nameMap.getOrDefault(state.srcNamespace, state.srcNamespace);
+
+			for (int i = 0; i < state.dstNamespaces.size(); i++) {
+				String ns = state.dstNamespaces.get(i);
+				state.dstNamespaces.set(i, nameMap.getOrDefault(ns, ns));
+			}
+		});
+
+		return this;
+	}
+
+	/**
+	 * Reorder and/or drop destination namespaces, see {@link MappingDstNsReorder}.
+	 */
+	public MappingPipeline reorderDstNamespaces(List<String> newDstNs) {
+		Objects.requireNonNull(newDstNs, "null newDstNs list");
+
+		stages.add(state -> {
+			int count = newDstNs.size();
+			int[][] candidates = new int[count][];
+			int[] descSources = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				String ns = newDstNs.get(i);
+				int oldIdx = newDstNs.indexOf(ns) == i ? state.dstNamespaces.indexOf(ns) : -1; // only the first occurrence receives data
+
+				if (oldIdx < 0) {
+					candidates[i] = NO_CANDIDATES;
+					descSources[i] = -1;
+				} else {
+					candidates[i] = state.candidates[oldIdx];
+					descSources[i] = state.descSources[oldIdx];
+				}
+			}
+
+			state.dstNamespaces = new ArrayList<>(newDstNs);
+			state.candidates = candidates;
+			state.descSources = descSources;
+		});
+
+		return this;
+	}
+
+	public MappingPipeline reorderDstNamespaces(String... newDstNs) {
+		return reorderDstNamespaces(Arrays.asList(newDstNs));
+	}
+
+	/**
+	 * Complete missing destination names, see {@link MappingNsCompleter}.
+	 */
+	public MappingPipeline completeNamespaces(Map<String, String> alternatives) {
+		return completeNamespaces(alternatives, false);
+	}
+
+	/**
+	 * Complete missing destination names, see {@link MappingNsCompleter}.
+	 */
+	public MappingPipeline completeNamespaces(Map<String, String> alternatives, boolean addMissingNs) {
+		Objects.requireNonNull(alternatives, "null alternatives");
+
+		stages.add(state -> {
+			if (addMissingNs) {
+				for (String ns : alternatives.keySet()) {
+					if (ns.equals(state.srcNamespace) || state.dstNamespaces.contains(ns)) continue;
+
+					state.dstNamespaces.add(ns);
+					state.candidates = Arrays.copyOf(state.candidates, state.candidates.length + 1);
+					state.candidates[state.candidates.length - 1] = NO_CANDIDATES;
+					state.descSources = Arrays.copyOf(state.descSources, state.descSources.length + 1);
+					state.descSources[state.descSources.length - 1] = -1;
+				}
+			}
+
+			int count = state.dstNamespaces.size();
+			int[] alternativesMapping = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				String src = alternatives.get(state.dstNamespaces.get(i));
+				int srcIdx;
+
+				if (src == null) {
+					srcIdx = i;
+				} else if (src.equals(state.srcNamespace)) {
+					srcIdx = -1;
+				} else {
+					srcIdx = state.dstNamespaces.indexOf(src);
+					if (srcIdx < 0) throw new RuntimeException("invalid alternative mapping ns "+src+": not in "+state.dstNamespaces+" or "+state.srcNamespace);
+				}
+
+				alternativesMapping[i] = srcIdx;
+			}
+
+			int[][] candidates = new int[count][];
+
+			for (int i = 0; i < count; i++) {
+				int[] res = state.candidates[i];
+				int src = i;
+				long visited = 1L << src;
+
+				for (;;) { // same resolution as MappingNsCompleter, collecting every namespace it may fall back to
+					int newSrc = alternativesMapping[src];
+
+					if (newSrc < 0) {
+						res = append(res, SRC_CANDIDATE);
+						break;
+					} else if (newSrc == src || (visited & 1L << newSrc) != 0) {
+						break;
+					}
+
+					src = newSrc;
+					visited |= 1L << src;
+
+					for (int candidate : state.candidates[src]) {
+						res = append(res, candidate);
+					}
+				}
+
+				candidates[i] = res;
+			}
+
+			state.candidates = candidates;
+		});
+
+		return this;
+	}
+
+	/**
+	 * Drop members without source descriptor, see {@link MissingDescFilter}.
+	 */
+	public MappingPipeline filterMissingDescs() {
+		filterMissingDescs = true;
+
+		return this;
+	}
+
+	/**
+	 * Create the fused visitor forwarding to the supplied visitor.
+	 */
+	public MappingVisitor build(MappingVisitor next) {
+		return new FusedVisitor(next, new ArrayList<>(stages), filterMissingDescs);
+	}
+
+	private static int[] append(int[] array, int value) {
+		int[] ret = Arrays.copyOf(array, array.length + 1);
+		ret[array.length] = value;
+
+		return ret;
+	}
+
+	private static final class FusedVisitor extends ForwardingMappingVisitor {
+		FusedVisitor(MappingVisitor next, List<Stage> stages, boolean filterMissingDescs) {
+			super(next);
+
+			this.stages = stages;
+			this.filterMissingDescs = filterMissingDescs;
+		}
+
+		@Override
+		public boolean visitHeader() throws IOException {
+			relayHeaderOrMetadata = next.visitHeader();
+
+			return true;
+		}
+
+		@Override
+		public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) throws IOException {
+			int count = dstNamespaces.size();
+			NamespaceState state = new NamespaceState();
+			state.srcNamespace = srcNamespace;
+			state.dstNamespaces = new ArrayList<>(dstNamespaces);
+			state.candidates = new int[count][];
+			state.descSources = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				state.candidates[i] = new int[] { i };
+				state.descSources[i] = i;
+			}
+
+			for (Stage stage : stages) {
+				stage.apply(state);
+			}
+
+			candidates = state.candidates;
+			inputDstNames = new String[count];
+			nameMap = createDirectMap(candidates, count);
+			descMap = new int[count];
+			Arrays.fill(descMap, -1);
+
+			for (int i = state.descSources.length - 1; i >= 0; i--) {
+				int src = state.descSources[i];
+				if (src >= 0) descMap[src] = i;
+			}
+
+			if (relayHeaderOrMetadata) next.visitNamespaces(state.srcNamespace, state.dstNamespaces);
+		}
+
+		/**
+		 * Create an input to output namespace map if every output is a plain copy of a distinct input namespace,
+		 * allowing dst names to be forwarded immediately instead of buffering them until the element content.
+		 */
+		@Nullable
+		private static int[] createDirectMap(int[][] candidates, int inputCount) {
+			int[] ret = new int[inputCount];
+			Arrays.fill(ret, -1);
+
+			for (int i = 0; i < candidates.length; i++) {
+				int[] nsCandidates = candidates[i];
+				if (nsCandidates.length == 0) continue;
+				if (nsCandidates.length > 1 || nsCandidates[0] < 0 || ret[nsCandidates[0]] >= 0) return null;
+
+				ret[nsCandidates[0]] = i;
+			}
+
+			return ret;
+		}
+
+		@Override
+		public void visitMetadata(String key, @Nullable String value) throws IOException {
+			if (relayHeaderOrMetadata) next.visitMetadata(key, value);
+		}
+
+		@Override
+		public boolean visitContent() throws IOException {
+			relayHeaderOrMetadata = true; // for in-content metadata
+
+			return next.visitContent();
+		}
+
+		@Override
+		public boolean visitClass(String srcName) throws IOException {
+			this.srcName = srcName;
+
+			return next.visitClass(srcName);
+		}
+
+		@Override
+		public boolean visitField(String srcName, @Nullable String srcDesc) throws IOException {
+			if (filterMissingDescs && srcDesc == null) return false;
+
+			this.srcName = srcName;
+
+			return next.visitField(srcName, srcDesc);
+		}
+
+		@Override
+		public boolean visitMethod(String srcName, @Nullable String srcDesc) throws IOException {
+			if (filterMissingDescs && srcDesc == null) return false;
+
+			this.srcName = srcName;
+
+			return next.visitMethod(srcName, srcDesc);
+		}
+
+		@Override
+		public boolean visitMethodArg(int argPosition, int lvIndex, @Nullable String srcName) throws IOException {
+			this.srcName = srcName;
+
+			return next.visitMethodArg(argPosition, lvIndex, srcName);
+		}
+
+		@Override
+		public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName) throws IOException {
+			this.srcName = srcName;
+
+			return next.visitMethodVar(lvtRowIndex, lvIndex, startOpIdx, endOpIdx, srcName);
+		}
+
+		@Override
+		public void visitDstName(MappedElementKind targetKind, int namespace, String name) throws IOException {
+			if (nameMap == null) {
+				inputDstNames[namespace] = name;
+			} else {
+				namespace = nameMap[namespace];
+				if (namespace >= 0) next.visitDstName(targetKind, namespace, name);
+			}
+		}
+
+		@Override
+		public void visitDstDesc(MappedElementKind targetKind, int namespace, String desc) throws IOException {
+			namespace = descMap[namespace];
+			if (namespace >= 0) next.visitDstDesc(targetKind, namespace, desc);
+		}
+
+		@Override
+		public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+			if (nameMap == null) {
+				for (int i = 0; i < candidates.length; i++) {
+					for (int candidate : candidates[i]) {
+						String name = candidate == SRC_CANDIDATE ? srcName : inputDstNames[candidate];
+
+						if (name != null) {
+							next.visitDstName(targetKind, i, name);
+							break;
+						}
+					}
+				}
+
+				Arrays.fill(inputDstNames, null);
+			}
+
+			return next.visitElementContent(targetKind);
+		}
+
+		private final List<Stage> stages;
+		private final boolean filterMissingDescs;
+
+		/**
+		 * Input namespaces (or {@link #SRC_CANDIDATE}) to take the name from for each output namespace, first non-null wins.
+		 */
+		private int[][] candidates;
+		@Nullable
+		private int[] nameMap;
+		private int[] descMap;
+		private boolean relayHeaderOrMetadata;
+
+		private String srcName;
+		private String[] inputDstNames;
+	}
+
+	private interface Stage {
+		void apply(NamespaceState state);
+	}
+
+	private static final class NamespaceState {
+		String srcNamespace;
+		List<String> dstNamespaces;
+		int[][] candidates;
+		int[] descSources;
+	}
+
+	private static final int SRC_CANDIDATE = -1;
+	private static final int[] NO_CANDIDATES = new int[0];
+
+	private final List<Stage> stages = new ArrayList<>();
+	private boolean filterMissingDescs;
+}
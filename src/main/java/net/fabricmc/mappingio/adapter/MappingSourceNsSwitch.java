@@ -31,6 +31,8 @@ import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingUtil;
 import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.tree.MappingTreeView;
+import net.fabricmc.mappingio.tree.MappingTreeView.ClassMappingView;
 
 /**
  * Adapter switching the source namespace with one of the destination namespaces.
@@ -41,6 +43,9 @@ import net.fabricmc.mappingio.MappingVisitor;
  * <p>After gathering the class map, the implementation delays src-named visit* invocations until the replacement dst
  * name is known, then replays it with the adjusted names.
  *
+ * <p>If the class map is supplied upfront, either directly or as a {@link MappingTreeView} to derive it from, the
+ * pre-pass is skipped and the input is processed in a single pass.
+ *
  * <p>By default elements without a name in newSourceNs will keep using the original srcName. This behavior can be
  * changed by setting {@code dropMissingNewSrcName} to true in the constructor.
  */
@@ -57,10 +62,46 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 	 * @param dropMissingNewSrcName Whether to drop elements without a name in newSourceNs, will use original srcName otherwise.
 	 */
 	public MappingSourceNsSwitch(MappingVisitor next, String newSourceNs, boolean dropMissingNewSrcName) {
+		this(next, newSourceNs, dropMissingNewSrcName, new HashMap<>(), null, false);
+	}
+
+	/**
+	 * Create a new MappingSourceNsSwitch instance using a precomputed class map, requiring only a single pass.
+	 *
+	 * @param next MappingVisitor to pass the output to.
+	 * @param newSourceNs Namespace to use for the new source name.
+	 * @param dropMissingNewSrcName Whether to drop elements without a name in newSourceNs, will use original srcName otherwise.
+	 * @param classMap Class names in the original source namespace to their names in newSourceNs.
+	 */
+	public MappingSourceNsSwitch(MappingVisitor next, String newSourceNs, boolean dropMissingNewSrcName, Map<String, String> classMap) {
+		this(next, newSourceNs, dropMissingNewSrcName, classMap, null, true);
+	}
+
+	/**
+	 * Create a new MappingSourceNsSwitch instance deriving the class map from a tree, requiring only a single pass.
+	 *
+	 * <p>The tree has to contain both the original source namespace and newSourceNs, it is queried on every
+	 * {@link #visitNamespaces} invocation.
+	 *
+	 * @param next MappingVisitor to pass the output to.
+	 * @param newSourceNs Namespace to use for the new source name.
+	 * @param dropMissingNewSrcName Whether to drop elements without a name in newSourceNs, will use original srcName otherwise.
+	 * @param classMapSource Tree to obtain the class names from.
+	 */
+	public MappingSourceNsSwitch(MappingVisitor next, String newSourceNs, boolean dropMissingNewSrcName, MappingTreeView classMapSource) {
+		this(next, newSourceNs, dropMissingNewSrcName, new HashMap<>(), classMapSource, true);
+	}
+
+	private MappingSourceNsSwitch(MappingVisitor next, String newSourceNs, boolean dropMissingNewSrcName,
+			Map<String, String> classMap, @Nullable MappingTreeView classMapSource, boolean precomputedClassMap) {
 		super(next);
 
 		this.newSourceNsName = newSourceNs;
 		this.dropMissingNewSrcName = dropMissingNewSrcName;
+		this.classMap = classMap;
+		this.classMapSource = classMapSource;
+		this.precomputedClassMap = precomputedClassMap;
+		this.classMapReady = precomputedClassMap;
 	}
 
 	@Override
@@ -70,7 +111,7 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 		} else {
 			Set<MappingFlag> ret = EnumSet.noneOf(MappingFlag.class);
 			ret.addAll(next.getFlags());
-			ret.add(MappingFlag.NEEDS_MULTIPLE_PASSES);
+			if (!precomputedClassMap) ret.add(MappingFlag.NEEDS_MULTIPLE_PASSES);
 			ret.add(MappingFlag.NEEDS_ELEMENT_UNIQUENESS);
 
 			return ret;
@@ -79,18 +120,23 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 
 	@Override
 	public void reset() {
-		classMapReady = false;
 		passThrough = false;
-		classMap.clear();
+		newSourceNs = -1;
+
+		if (!precomputedClassMap) {
+			classMapReady = false;
+			classMap.clear();
+		}
 
 		next.reset();
 	}
 
 	@Override
 	public boolean visitHeader() throws IOException {
-		if (!classMapReady) return true;
+		// always receive the namespaces, they are needed for processing the content even if next skips the header
+		if (classMapReady) relayHeaderOrMetadata = next.visitHeader();
 
-		return next.visitHeader();
+		return true;
 	}
 
 	@Override
@@ -103,20 +149,25 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 
 				if (relayHeaderOrMetadata) next.visitNamespaces(srcNamespace, dstNamespaces);
 			} else {
-				newSourceNs = dstNamespaces.indexOf(newSourceNsName);
-				if (newSourceNs < 0) throw new RuntimeException("invalid new source ns "+newSourceNsName+": not in "+dstNamespaces+" or "+srcNamespace);
-
-				oldSourceNsName = srcNamespace;
-
-				int count = dstNamespaces.size();
-				dstNames = new String[count];
+				initNamespaces(srcNamespace, dstNamespaces);
 			}
 		} else {
-			relayHeaderOrMetadata = true; // if next.visitHeader didn't return true in visitHeader, visitNamespaces wouldn't have been called
+			if (precomputedClassMap && newSourceNs < 0) { // first and only pass
+				if (srcNamespace.equals(newSourceNsName)) {
+					passThrough = true;
+					if (relayHeaderOrMetadata) next.visitNamespaces(srcNamespace, dstNamespaces);
+					return;
+				}
 
-			List<String> newDstNamespaces = new ArrayList<>(dstNamespaces);
-			newDstNamespaces.set(newSourceNs, oldSourceNsName);
-			next.visitNamespaces(newSourceNsName, newDstNamespaces);
+				initNamespaces(srcNamespace, dstNamespaces);
+				if (classMapSource != null) deriveClassMap();
+			}
+
+			if (relayHeaderOrMetadata) {
+				List<String> newDstNamespaces = new ArrayList<>(dstNamespaces);
+				newDstNamespaces.set(newSourceNs, oldSourceNsName);
+				next.visitNamespaces(newSourceNsName, newDstNamespaces);
+			}
 
 			Set<MappingFlag> flags = next.getFlags();
 
@@ -128,6 +179,31 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 		}
 	}
 
+	private void initNamespaces(String srcNamespace, List<String> dstNamespaces) {
+		newSourceNs = dstNamespaces.indexOf(newSourceNsName);
+		if (newSourceNs < 0) throw new RuntimeException("invalid new source ns "+newSourceNsName+": not in "+dstNamespaces+" or "+srcNamespace);
+
+		oldSourceNsName = srcNamespace;
+
+		int count = dstNamespaces.size();
+		dstNames = new String[count];
+	}
+
+	private void deriveClassMap() {
+		int srcNs = classMapSource.getNamespaceId(oldSourceNsName);
+		int dstNs = classMapSource.getNamespaceId(newSourceNsName);
+		if (srcNs == MappingTreeView.NULL_NAMESPACE_ID) throw new RuntimeException("class map source is missing namespace "+oldSourceNsName);
+		if (dstNs == MappingTreeView.NULL_NAMESPACE_ID) throw new RuntimeException("class map source is missing namespace "+newSourceNsName);
+
+		classMap.clear();
+
+		for (ClassMappingView cls : classMapSource.getClasses()) {
+			String srcName = cls.getName(srcNs);
+			String dstName = cls.getName(dstNs);
+			if (srcName != null && dstName != null) classMap.put(srcName, dstName);
+		}
+	}
+
 	@Override
 	public void visitMetadata(String key, @Nullable String value) throws IOException {
 		if (classMapReady && relayHeaderOrMetadata) next.visitMetadata(key, value);
@@ -305,10 +381,13 @@ public final class MappingSourceNsSwitch extends ForwardingMappingVisitor {
 	private final String newSourceNsName;
 	private final boolean dropMissingNewSrcName;
 
-	private int newSourceNs;
+	private int newSourceNs = -1;
 	private String oldSourceNsName;
 
-	private final Map<String, String> classMap = new HashMap<>();
+	private final Map<String, String> classMap;
+	@Nullable
+	private final MappingTreeView classMapSource;
+	private final boolean precomputedClassMap;
 	private boolean classMapReady;
 	private boolean passThrough;
 	private boolean relayHeaderOrMetadata;
@@ -40,14 +40,41 @@ import net.fabricmc.mappingio.MappingVisitor;
  * <p>For example, it takes a class {@code class_1$class_2} that doesn't have a mapping,
  * tries to find {@code class_1}, which let's say has the mapping {@code SomeClass},
  * and changes the former's destination name to {@code SomeClass$class_2}.
+ *
+ * <p>By default this requires multiple passes to gather all class names first. If the input is known to visit outer
+ * classes before their inner classes, e.g. with {@link net.fabricmc.mappingio.tree.VisitOrder#createByName()}, the
+ * sorted input mode resolves the names in a single pass, only keeping the current chain of outer classes. This requires
+ * every nest to be visited contiguously, i.e. no unrelated class may come between an outer class and its inner
+ * classes, which sorting by name ensures.
+ *
+ * <p>Destination descriptors may reference classes resolved later, so the sorted input mode doesn't forward them. If
+ * the next visitor requests them via {@link MappingFlag#NEEDS_DST_FIELD_DESC} or
+ * {@link MappingFlag#NEEDS_DST_METHOD_DESC}, the multi pass mode is used regardless.
  */
 public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 	protected OuterClassNameInheritingVisitor(MappingVisitor next) {
+		this(next, false);
+	}
+
+	/**
+	 * @param next The next visitor to forward the data to.
+	 * @param sortedInput Whether outer classes are guaranteed to be visited before their inner classes, with each nest
+	 * visited contiguously, enabling single pass operation.
+	 */
+	public OuterClassNameInheritingVisitor(MappingVisitor next, boolean sortedInput) {
 		super(next);
+
+		Set<MappingFlag> flags = next.getFlags();
+		this.sortedInput = sortedInput
+				&& !flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC)
+				&& !flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC);
+		if (this.sortedInput) pass = firstEmitPass;
 	}
 
 	@Override
 	public Set<MappingFlag> getFlags() {
+		if (sortedInput) return next.getFlags();
+
 		Set<MappingFlag> ret = EnumSet.noneOf(MappingFlag.class);
 		ret.addAll(next.getFlags());
 		ret.add(MappingFlag.NEEDS_MULTIPLE_PASSES);
@@ -67,7 +94,10 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 	public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) throws IOException {
 		dstNsCount = dstNamespaces.size();
 
-		if (pass == collectClassesPass) {
+		if (sortedInput) {
+			stackSize = 0;
+			super.visitNamespaces(srcNamespace, dstNamespaces);
+		} else if (pass == collectClassesPass) {
 			visitedDstName = new boolean[dstNsCount];
 			dstNameBySrcNameByNamespace = new HashMap[dstNsCount];
 		} else if (pass >= firstEmitPass) {
@@ -93,6 +123,30 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 	public boolean visitClass(String srcName) throws IOException {
 		this.srcName = srcName;
 
+		if (sortedInput) {
+			while (stackSize > 0 && !isOuterClass(stackSrcNames[stackSize - 1], srcName)) {
+				stackSize--;
+			}
+
+			if (stackSize == stackSrcNames.length) {
+				int newSize = Math.max(stackSize * 2, 4);
+				stackSrcNames = Arrays.copyOf(stackSrcNames, newSize);
+				stackDstNames = Arrays.copyOf(stackDstNames, newSize);
+			}
+
+			String[] dstNames = stackDstNames[stackSize];
+
+			if (dstNames == null || dstNames.length != dstNsCount) {
+				stackDstNames[stackSize] = new String[dstNsCount];
+			} else {
+				Arrays.fill(dstNames, null);
+			}
+
+			relayClass = super.visitClass(srcName);
+
+			return true; // the dst names are needed for inner classes even if next skips the class
+		}
+
 		if (pass == collectClassesPass) {
 			dstNamesBySrcName.putIfAbsent(srcName, new String[dstNsCount]);
 		} else if (pass >= firstEmitPass) {
@@ -104,6 +158,16 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 
 	@Override
 	public void visitDstName(MappedElementKind targetKind, int namespace, String name) throws IOException {
+		if (sortedInput) {
+			if (targetKind == MappedElementKind.CLASS) {
+				stackDstNames[stackSize][namespace] = name;
+			} else {
+				super.visitDstName(targetKind, namespace, name);
+			}
+
+			return;
+		}
+
 		if (pass == collectClassesPass) {
 			if (targetKind != MappedElementKind.CLASS) return;
 
@@ -121,6 +185,7 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 	@Override
 	public void visitDstDesc(MappedElementKind targetKind, int namespace, String desc) throws IOException {
 		if (pass < firstEmitPass) return;
+		if (sortedInput) return; // may reference classes resolved later, the next visitor doesn't need them
 
 		if (modifiedClasses.contains(srcName)) {
 			Map<String, String> nsDstNameBySrcName = dstNameBySrcNameByNamespace[namespace];
@@ -140,6 +205,34 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 
 	@Override
 	public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+		if (sortedInput) {
+			if (targetKind != MappedElementKind.CLASS) return super.visitElementContent(targetKind);
+
+			String[] dstNames = stackDstNames[stackSize];
+
+			for (int ns = 0; ns < dstNsCount; ns++) {
+				if (dstNames[ns] != null) continue;
+
+				for (int i = stackSize - 1; i >= 0; i--) { // nearest outer class first
+					String outerDstName = stackDstNames[i][ns];
+
+					if (outerDstName != null) {
+						dstNames[ns] = outerDstName + srcName.substring(stackSrcNames[i].length());
+						break;
+					}
+				}
+			}
+
+			stackSrcNames[stackSize++] = srcName;
+			if (!relayClass) return false;
+
+			for (int ns = 0; ns < dstNsCount; ns++) {
+				if (dstNames[ns] != null) super.visitDstName(targetKind, ns, dstNames[ns]);
+			}
+
+			return super.visitElementContent(targetKind);
+		}
+
 		if (targetKind == MappedElementKind.CLASS && pass > collectClassesPass) {
 			String[] dstNames = dstNamesBySrcName.get(srcName);
 
@@ -190,6 +283,12 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 		return super.visitEnd();
 	}
 
+	private static boolean isOuterClass(String outerName, String name) {
+		return name.length() > outerName.length()
+				&& name.charAt(outerName.length()) == '$'
+				&& name.startsWith(outerName);
+	}
+
 	private static final int collectClassesPass = 1;
 	private static final int fixOuterClassesPass = 2;
 	private static final int firstEmitPass = 3;
@@ -200,4 +299,11 @@ public class OuterClassNameInheritingVisitor extends ForwardingMappingVisitor {
 	private String srcName;
 	private boolean[] visitedDstName;
 	private Map<String, String>[] dstNameBySrcNameByNamespace;
+
+	private final boolean sortedInput;
+	// sorted input mode state, stack of the current class and its outer classes
+	private String[] stackSrcNames = new String[0];
+	private String[][] stackDstNames = new String[0][];
+	private int stackSize;
+	private boolean relayClass;
 }
@@ -160,6 +160,35 @@ public final class ColumnFileReader implements Closeable {
 		}
 	}
 
+	/**
+	 * Consume a column without materializing its content.
+	 *
+	 * @return {@code true} if a column was consumed, {@code false} if there were no more columns in the current line.
+	 */
+	public boolean skipCol() throws IOException {
+		if (eol) return false;
+
+		for (;;) {
+			while (bufferPos < bufferLimit) {
+				char c = buffer[bufferPos];
+
+				if (c == columnSeparator) { // seek to the start of the next column
+					bufferPos++;
+					return true;
+				} else if (c == '\n' || c == '\r') {
+					eol = true;
+					return true;
+				}
+
+				bufferPos++;
+			}
+
+			// buffer ran out, refill
+
+			if (!fillBuffer(1)) return true; // eof, also sets eol
+		}
+	}
+
 	/**
 	 * Read and consume all column until eol and unescape if requested.
 	 */
@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.format;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingFlag;
+import net.fabricmc.mappingio.MappingVisitor;
+
+/**
+ * Mapping visitor recording all visit calls into a compact binary event log, which can be replayed any number of times.
+ *
+ * <p>Intended for readers that have to satisfy {@link MappingFlag#NEEDS_MULTIPLE_PASSES} without re-parsing their
+ * input, at a fraction of the memory of a {@link net.fabricmc.mappingio.tree.MemoryMappingTree}. Unlike the latter,
+ * the recorded elements aren't merged or reordered, so it can't satisfy {@link MappingFlag#NEEDS_ELEMENT_UNIQUENESS}.
+ *
+ * <p>The recording side accepts everything, only a single visitation pass is recorded.
+ */
+@ApiStatus.Experimental
+public final class MappingVisitBuffer implements MappingVisitor {
+	@Override
+	public void reset() {
+		size = 0;
+		strings.clear();
+		stringIndices.clear();
+	}
+
+	@Override
+	public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) {
+		writeByte(NAMESPACES);
+		writeString(srcNamespace);
+		writeInt(dstNamespaces.size());
+
+		for (String dstNamespace : dstNamespaces) {
+			writeString(dstNamespace);
+		}
+	}
+
+	@Override
+	public void visitMetadata(String key, @Nullable String value) {
+		writeByte(METADATA);
+		writeString(key);
+		writeString(value);
+	}
+
+	@Override
+	public boolean visitContent() {
+		writeByte(CONTENT);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitClass(String srcName) {
+		writeByte(CLASS);
+		writeString(srcName);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitField(String srcName, @Nullable String srcDesc) {
+		writeByte(FIELD);
+		writeString(srcName);
+		writeString(srcDesc);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitMethod(String srcName, @Nullable String srcDesc) {
+		writeByte(METHOD);
+		writeString(srcName);
+		writeString(srcDesc);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitMethodArg(int argPosition, int lvIndex, @Nullable String srcName) {
+		writeByte(METHOD_ARG);
+		writeInt(argPosition);
+		writeInt(lvIndex);
+		writeString(srcName);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName) {
+		writeByte(METHOD_VAR);
+		writeInt(lvtRowIndex);
+		writeInt(lvIndex);
+		writeInt(startOpIdx);
+		writeInt(endOpIdx);
+		writeString(srcName);
+
+		return true;
+	}
+
+	@Override
+	public boolean visitEnd() {
+		return true;
+	}
+
+	@Override
+	public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
+		writeByte(DST_NAME);
+		writeByte(targetKind.ordinal());
+		writeInt(namespace);
+		writeString(name);
+	}
+
+	@Override
+	public void visitDstDesc(MappedElementKind targetKind, int namespace, String desc) {
+		writeByte(DST_DESC);
+		writeByte(targetKind.ordinal());
+		writeInt(namespace);
+		writeString(desc);
+	}
+
+	@Override
+	public boolean visitElementContent(MappedElementKind targetKind) {
+		writeByte(ELEMENT_CONTENT);
+		writeByte(targetKind.ordinal());
+
+		return true;
+	}
+
+	@Override
+	public void visitComment(MappedElementKind targetKind, String comment) {
+		writeByte(COMMENT);
+		writeByte(targetKind.ordinal());
+		writeString(comment);
+	}
+
+	/**
+	 * Replay the recorded events into the supplied visitor, repeating until its {@link MappingVisitor#visitEnd()}
+	 * returns {@code true}.
+	 */
+	public void accept(MappingVisitor visitor) throws IOException {
+		do {
+			replay(visitor);
+		} while (!visitor.visitEnd());
+	}
+
+	/**
+	 * Get the number of bytes used by the recorded events, excluding the string table.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	private void replay(MappingVisitor visitor) throws IOException {
+		skipDepth = NO_SKIP;
+		int pos = 0;
+		int contentPos = findContent();
+		int end = contentPos < 0 ? size : contentPos;
+
+		if (visitor.visitHeader()) {
+			while (pos < end) {
+				pos = replayEvent(visitor, pos);
+			}
+		}
+
+		if (contentPos < 0 || !visitor.visitContent()) return;
+
+		pos = contentPos + 1;
+
+		while (pos < size) {
+			pos = replayEvent(visitor, pos);
+		}
+	}
+
+	private int findContent() {
+		int pos = 0;
+
+		while (pos < size) {
+			if (buffer[pos] == CONTENT) return pos;
+
+			pos = skipEvent(pos);
+		}
+
+		return -1;
+	}
+
+	private int replayEvent(MappingVisitor visitor, int pos) throws IOException {
+		int type = buffer[pos++];
+		int depth = getDepth(type);
+
+		if (depth >= 0) { // new element, ends skipping unless nested in the skipped one
+			if (depth > skipDepth) return skipEvent(pos - 1);
+
+			skipDepth = NO_SKIP;
+		} else if (skipDepth != NO_SKIP && KINDS[buffer[pos]].level + 1 >= skipDepth) { // data for a skipped element
+			return skipEvent(pos - 1);
+		}
+
+		this.pos = pos;
+		boolean visit = true;
+
+		switch (type) {
+		case NAMESPACES: {
+			String srcNamespace = readString();
+			String[] dstNamespaces = new String[readInt()];
+
+			for (int i = 0; i < dstNamespaces.length; i++) {
+				dstNamespaces[i] = readString();
+			}
+
+			visitor.visitNamespaces(srcNamespace, Arrays.asList(dstNamespaces));
+			break;
+		}
+		case METADATA:
+			visitor.visitMetadata(readString(), readString());
+			break;
+		case CLASS:
+			visit = visitor.visitClass(readString());
+			break;
+		case FIELD:
+			visit = visitor.visitField(readString(), readString());
+			break;
+		case METHOD:
+			visit = visitor.visitMethod(readString(), readString());
+			break;
+		case METHOD_ARG:
+			visit = visitor.visitMethodArg(readInt(), readInt(), readString());
+			break;
+		case METHOD_VAR:
+			visit = visitor.visitMethodVar(readInt(), readInt(), readInt(), readInt(), readString());
+			break;
+		case DST_NAME:
+			visitor.visitDstName(KINDS[buffer[this.pos++]], readInt(), readString());
+			break;
+		case DST_DESC:
+			visitor.visitDstDesc(KINDS[buffer[this.pos++]], readInt(), readString());
+			break;
+		case ELEMENT_CONTENT: {
+			MappedElementKind kind = KINDS[buffer[this.pos++]];
+			visit = visitor.visitElementContent(kind);
+			depth = kind.level + 1;
+			break;
+		}
+		case COMMENT:
+			visitor.visitComment(KINDS[buffer[this.pos++]], readString());
+			break;
+		default:
+			throw new IllegalStateException("invalid event type "+type);
+		}
+
+		if (!visit) skipDepth = depth;
+
+		return this.pos;
+	}
+
+	private int skipEvent(int pos) {
+		int type = buffer[pos++];
+		int intCount;
+		int stringCount;
+
+		switch (type) {
+		case NAMESPACES:
+			this.pos = pos;
+			readInt(); // src namespace
+			intCount = 0;
+			stringCount = readInt();
+			pos = this.pos;
+			break;
+		case METADATA:
+		case FIELD:
+		case METHOD:
+			intCount = 0;
+			stringCount = 2;
+			break;
+		case CONTENT:
+			intCount = stringCount = 0;
+			break;
+		case CLASS:
+			intCount = 0;
+			stringCount = 1;
+			break;
+		case METHOD_ARG:
+			intCount = 2;
+			stringCount = 1;
+			break;
+		case METHOD_VAR:
+			intCount = 4;
+			stringCount = 1;
+			break;
+		case DST_NAME:
+		case DST_DESC:
+			pos++;
+			intCount = stringCount = 1;
+			break;
+		case ELEMENT_CONTENT:
+			pos++;
+			intCount = stringCount = 0;
+			break;
+		case COMMENT:
+			pos++;
+			intCount = 0;
+			stringCount = 1;
+			break;
+		default:
+			throw new IllegalStateException("invalid event type "+type);
+		}
+
+		// ints and string indices are both var ints, skip over them without decoding
+		for (int i = intCount + stringCount; i > 0; i--) {
+			while (buffer[pos] < 0) pos++;
+			pos++;
+		}
+
+		return pos;
+	}
+
+	/**
+	 * Get the element depth an event starts, or -1 for events belonging to the current element.
+	 */
+	private static int getDepth(int type) {
+		switch (type) {
+		case METADATA:
+			return 0;
+		case CLASS:
+			return 1;
+		case FIELD:
+		case METHOD:
+			return 2;
+		case METHOD_ARG:
+		case METHOD_VAR:
+			return 3;
+		default:
+			return -1;
+		}
+	}
+
+	private void writeByte(int value) {
+		if (size == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+		buffer[size++] = (byte) value;
+	}
+
+	private void writeInt(int value) {
+		if (buffer.length - size < 5) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+		while ((value & ~0x7f) != 0) {
+			buffer[size++] = (byte) (value & 0x7f | 0x80);
+			value >>>= 7;
+		}
+
+		buffer[size++] = (byte) value;
+	}
+
+	private void writeString(@Nullable String str) {
+		if (str == null) {
+			writeInt(0);
+			return;
+		}
+
+		Integer idx = stringIndices.get(str);
+
+		if (idx == null) {
+			strings.add(str);
+			idx = strings.size();
+			stringIndices.put(str, idx);
+		}
+
+		writeInt(idx);
+	}
+
+	private int readInt() {
+		int ret = 0;
+		int shift = 0;
+		byte b;
+
+		do {
+			b = buffer[pos++];
+			ret |= (b & 0x7f) << shift;
+			shift += 7;
+		} while (b < 0);
+
+		return ret;
+	}
+
+	@Nullable
+	private String readString() {
+		int idx = readInt();
+
+		return idx == 0 ? null : strings.get(idx - 1);
+	}
+
+	private static final byte NAMESPACES = 0;
+	private static final byte METADATA = 1;
+	private static final byte CONTENT = 2;
+	private static final byte CLASS = 3;
+	private static final byte FIELD = 4;
+	private static final byte METHOD = 5;
+	private static final byte METHOD_ARG = 6;
+	private static final byte METHOD_VAR = 7;
+	private static final byte DST_NAME = 8;
+	private static final byte DST_DESC = 9;
+	private static final byte ELEMENT_CONTENT = 10;
+	private static final byte COMMENT = 11;
+
+	private static final MappedElementKind[] KINDS = MappedElementKind.values();
+	private static final int NO_SKIP = Integer.MAX_VALUE;
+
+	private byte[] buffer = new byte[4096];
+	private int size;
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, Integer> stringIndices = new HashMap<>();
+	// replay state
+	private int pos;
+	private int skipDepth;
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.format;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.JfrEvents;
+
+/**
+ * Unsynchronized writer encoding straight to UTF-8 into a large byte buffer, which gets flushed to a channel.
+ *
+ * <p>Compared to a {@link java.io.BufferedWriter} on top of an {@link java.io.OutputStreamWriter}, this avoids the
+ * per-call locking and the intermediate char buffer + charset encoder, and can format ints without allocating.
+ */
+@ApiStatus.Internal
+public final class Utf8FileWriter extends Writer {
+	public Utf8FileWriter(WritableByteChannel channel) {
+		this(channel, null);
+	}
+
+	private Utf8FileWriter(WritableByteChannel channel, @Nullable Path file) {
+		this.channel = channel;
+		this.file = file;
+		this.event = JfrEvents.WRITE.begin();
+	}
+
+	/**
+	 * Create or truncate the supplied file for writing.
+	 */
+	public static Utf8FileWriter open(Path file) throws IOException {
+		return new Utf8FileWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), file);
+	}
+
+	/**
+	 * Write the decimal representation of an int, without allocating if the writer is a {@link Utf8FileWriter}.
+	 */
+	public static void writeInt(Writer writer, int value) throws IOException {
+		if (writer instanceof Utf8FileWriter) {
+			((Utf8FileWriter) writer).writeInt(value);
+		} else {
+			writer.write(Integer.toString(value));
+		}
+	}
+
+	public void writeInt(int value) throws IOException {
+		if (value == Integer.MIN_VALUE) {
+			write("-2147483648");
+			return;
+		}
+
+		if (buffer.length - pos < 11) flushBuffer();
+
+		if (value < 0) {
+			buffer[pos++] = '-';
+			value = -value;
+		}
+
+		int digits = 1;
+
+		for (int v = value; v >= 10; v /= 10) {
+			digits++;
+		}
+
+		int end = pos + digits;
+
+		for (int i = end - 1; i >= pos; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+
+		pos = end;
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		if (c < 0x80 && highSurrogate == 0) {
+			if (pos == buffer.length) flushBuffer();
+			buffer[pos++] = (byte) c;
+		} else {
+			writeChar((char) c);
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		int end = off + len;
+
+		while (off < end) {
+			// ascii fast path
+			if (highSurrogate == 0) {
+				int limit = Math.min(end, off + buffer.length - pos);
+				int p = pos;
+				char c;
+
+				while (off < limit && (c = str.charAt(off)) < 0x80) {
+					buffer[p++] = (byte) c;
+					off++;
+				}
+
+				pos = p;
+				if (off == end) break;
+				if (pos == buffer.length) flushBuffer();
+				if (off == limit) continue;
+			}
+
+			writeChar(str.charAt(off++));
+		}
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		int end = off + len;
+
+		while (off < end) {
+			// ascii fast path
+			if (highSurrogate == 0) {
+				int limit = Math.min(end, off + buffer.length - pos);
+				int p = pos;
+				char c;
+
+				while (off < limit && (c = cbuf[off]) < 0x80) {
+					buffer[p++] = (byte) c;
+					off++;
+				}
+
+				pos = p;
+				if (off == end) break;
+				if (pos == buffer.length) flushBuffer();
+				if (off == limit) continue;
+			}
+
+			writeChar(cbuf[off++]);
+		}
+	}
+
+	@Override
+	public Writer append(CharSequence csq) throws IOException {
+		String str = String.valueOf(csq);
+		write(str, 0, str.length());
+
+		return this;
+	}
+
+	@Override
+	public Writer append(char c) throws IOException {
+		write(c);
+
+		return this;
+	}
+
+	private void writeChar(char c) throws IOException {
+		if (buffer.length - pos < 4) flushBuffer();
+
+		if (highSurrogate != 0) {
+			if (!Character.isLowSurrogate(c)) throw new MalformedInputException(1);
+
+			int cp = Character.toCodePoint(highSurrogate, c);
+			highSurrogate = 0;
+			buffer[pos++] = (byte) (0xf0 | cp >> 18);
+			buffer[pos++] = (byte) (0x80 | cp >> 12 & 0x3f);
+			buffer[pos++] = (byte) (0x80 | cp >> 6 & 0x3f);
+			buffer[pos++] = (byte) (0x80 | cp & 0x3f);
+		} else if (c < 0x80) {
+			buffer[pos++] = (byte) c;
+		} else if (c < 0x800) {
+			buffer[pos++] = (byte) (0xc0 | c >> 6);
+			buffer[pos++] = (byte) (0x80 | c & 0x3f);
+		} else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		} else if (Character.isLowSurrogate(c)) {
+			throw new MalformedInputException(1);
+		} else {
+			buffer[pos++] = (byte) (0xe0 | c >> 12);
+			buffer[pos++] = (byte) (0x80 | c >> 6 & 0x3f);
+			buffer[pos++] = (byte) (0x80 | c & 0x3f);
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (closed) throw new IOException("writer closed");
+
+		ByteBuffer buf = ByteBuffer.wrap(buffer, 0, pos);
+
+		while (buf.hasRemaining()) {
+			channel.write(buf);
+		}
+
+		bytesWritten += pos;
+		pos = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+
+		try {
+			if (highSurrogate != 0) throw new MalformedInputException(1);
+
+			flushBuffer();
+		} finally {
+			closed = true;
+			channel.close();
+		}
+
+		if (event != null) event.commit(file != null ? file.toString() : null, bytesWritten);
+	}
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final WritableByteChannel channel;
+	private final Path file;
+	private final JfrEvents.Event event;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int pos;
+	private char highSurrogate;
+	private boolean closed;
+	private long bytesWritten;
+}
@@ -30,6 +30,7 @@ import net.fabricmc.mappingio.MappingUtil;
 import net.fabricmc.mappingio.MappingVisitor;
 import net.fabricmc.mappingio.adapter.ForwardingMappingVisitor;
 import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.MappingVisitBuffer;
 import net.fabricmc.mappingio.tree.MappingTree;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
@@ -51,9 +52,14 @@ public final class EnigmaDirReader {
 		Set<MappingFlag> flags = visitor.getFlags();
 		MappingVisitor parentVisitor = null;
 
-		if (flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS) || flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES)) {
+		if (flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS)
+				|| flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES) // the tree derives dst descs, the buffer can't
+				&& (flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC) || flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC))) {
 			parentVisitor = visitor;
 			visitor = new MemoryMappingTree();
+		} else if (flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES)) {
+			parentVisitor = visitor;
+			visitor = new MappingVisitBuffer();
 		}
 
 		if (visitor.visitHeader()) {
@@ -102,8 +108,10 @@ public final class EnigmaDirReader {
 			throw new IllegalStateException("repeated visitation requested without NEEDS_MULTIPLE_PASSES");
 		}
 
-		if (parentVisitor != null) {
+		if (visitor instanceof MappingTree) {
 			((MappingTree) visitor).accept(parentVisitor);
+		} else {
+			((MappingVisitBuffer) visitor).accept(parentVisitor);
 		}
 	}
 }
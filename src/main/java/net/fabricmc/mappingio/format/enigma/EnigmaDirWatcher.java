@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.format.enigma;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappingUtil;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.tree.MappingTreeView.ClassMappingView;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+/**
+ * Keeps a {@link MemoryMappingTree} in sync with an {@linkplain MappingFormat#ENIGMA_DIRECTORY Enigma directory}.
+ *
+ * <p>The directory is read into the tree on construction. Afterwards, {@link #poll} re-reads only the
+ * {@code .mapping} files that changed since the last call, replacing the classes they previously contributed.
+ * Every class is assumed to be defined in a single file, as written by {@link EnigmaDirWriter}.
+ *
+ * <p>A file that fails to parse during {@link #poll} doesn't abort the update, it keeps contributing the classes from
+ * its last successful read and gets reported by {@link #getFailedFiles} until it parses again or gets deleted.
+ *
+ * <p>The tree is only modified from within {@link #poll}, so callers control the thread doing the updates and are
+ * responsible for synchronizing it with other tree users.
+ */
+@ApiStatus.Experimental
+public final class EnigmaDirWatcher implements Closeable {
+	public EnigmaDirWatcher(Path dir, MemoryMappingTree tree) throws IOException {
+		this(dir, MappingUtil.NS_SOURCE_FALLBACK, MappingUtil.NS_TARGET_FALLBACK, tree);
+	}
+
+	public EnigmaDirWatcher(Path dir, String sourceNs, String targetNs, MemoryMappingTree tree) throws IOException {
+		this.dir = dir;
+		this.sourceNs = sourceNs;
+		this.targetNs = targetNs;
+		this.tree = tree;
+		this.watchService = dir.getFileSystem().newWatchService();
+
+		try {
+			tree.visitNamespaces(sourceNs, Collections.singletonList(targetNs));
+			scan(dir, null);
+		} catch (IOException | RuntimeException e) {
+			watchService.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Apply the pending file changes to the tree without waiting.
+	 *
+	 * @return The source names of the classes that were removed, replaced or added.
+	 */
+	public Set<String> poll() throws IOException {
+		Set<Path> changedFiles = new LinkedHashSet<>();
+		WatchKey key;
+
+		while ((key = watchService.poll()) != null) {
+			collectChanges(key, changedFiles);
+		}
+
+		return update(changedFiles);
+	}
+
+	/**
+	 * Apply the pending file changes to the tree, waiting up to the specified time for the first change.
+	 *
+	 * @return The source names of the classes that were removed, replaced or added.
+	 */
+	public Set<String> poll(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+		Set<Path> changedFiles = new LinkedHashSet<>();
+		WatchKey key = watchService.poll(timeout, unit);
+
+		while (key != null) {
+			collectChanges(key, changedFiles);
+			key = watchService.poll();
+		}
+
+		return update(changedFiles);
+	}
+
+	/**
+	 * @return The files whose last read attempt failed, with the failure, as an unmodifiable view.
+	 */
+	public Map<Path, Exception> getFailedFiles() {
+		return Collections.unmodifiableMap(failedFiles);
+	}
+
+	private void collectChanges(WatchKey key, Set<Path> changedFiles) throws IOException {
+		Path keyDir = watchedDirs.get(key);
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || keyDir == null) {
+				overflow = true;
+				continue;
+			}
+
+			Path path = keyDir.resolve((Path) event.context());
+
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+				scan(path, changedFiles); // new (possibly pre-populated) directory, files created before registration don't trigger events
+			} else {
+				changedFiles.add(path);
+			}
+		}
+
+		if (!key.reset()) { // directory no longer accessible
+			registeredDirs.remove(watchedDirs.remove(key));
+		}
+	}
+
+	private Set<String> update(Set<Path> changedFiles) throws IOException {
+		Set<String> ret = new HashSet<>();
+
+		if (overflow) { // events got lost, re-read everything
+			overflow = false;
+			changedFiles.addAll(classesByFile.keySet());
+			scan(dir, changedFiles);
+		}
+
+		for (Path file : changedFiles) {
+			if (isMappingFile(file) && Files.isRegularFile(file)) {
+				try {
+					readFile(file, ret);
+					failedFiles.remove(file);
+				} catch (IOException | RuntimeException e) { // keep the previous state of the file, continue with the others
+					failedFiles.put(file, e);
+				}
+			} else if (Files.notExists(file)) { // possibly a deleted directory, drop the files it contained
+				registeredDirs.remove(file);
+				failedFiles.keySet().removeIf(trackedFile -> trackedFile.startsWith(file));
+
+				for (Path trackedFile : new ArrayList<>(classesByFile.keySet())) {
+					if (trackedFile.startsWith(file)) removeClasses(trackedFile, ret);
+				}
+			} else {
+				removeClasses(file, ret);
+				failedFiles.remove(file);
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Register the directory and its subdirectories, reading all mapping files contained within.
+	 *
+	 * @param changedFiles Set to add the found files to instead of reading them, or {@code null}.
+	 */
+	private void scan(Path start, @Nullable Set<Path> changedFiles) throws IOException {
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) throws IOException {
+				if (registeredDirs.add(subDir)) {
+					watchedDirs.put(subDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), subDir);
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				if (isMappingFile(file)) {
+					if (changedFiles != null) {
+						changedFiles.add(file);
+					} else {
+						readFile(file, null);
+					}
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Remove the classes the file contributed, except for those another file took over in the meantime.
+	 */
+	private void removeClasses(Path file, @Nullable Set<String> changedClasses) {
+		Set<String> classes = classesByFile.remove(file);
+		if (classes == null) return;
+
+		for (String name : classes) {
+			if (!file.equals(fileByClass.get(name))) continue;
+
+			fileByClass.remove(name);
+			if (tree.removeClass(name) != null && changedClasses != null) changedClasses.add(name);
+		}
+	}
+
+	/**
+	 * Read the file into a scratch tree first, only replacing the file's previous classes if it parsed completely.
+	 */
+	private void readFile(Path file, @Nullable Set<String> changedClasses) throws IOException {
+		MemoryMappingTree fileTree = new MemoryMappingTree();
+
+		try (Reader reader = Files.newBufferedReader(file)) {
+			EnigmaFileReader.read(reader, sourceNs, targetNs, fileTree);
+		} catch (NoSuchFileException e) {
+			// deleted again before it could be read, the deletion event follows
+		}
+
+		Set<String> classes = new HashSet<>();
+
+		for (ClassMappingView cls : fileTree.getClasses()) {
+			classes.add(cls.getSrcName());
+		}
+
+		removeClasses(file, changedClasses);
+
+		for (String name : classes) {
+			Path prevFile = fileByClass.put(name, file);
+
+			if (prevFile != null) { // moved from another file, e.g. after a rename, drop the content from there
+				classesByFile.get(prevFile).remove(name);
+				tree.removeClass(name);
+			}
+		}
+
+		fileTree.accept(tree);
+		classesByFile.put(file, classes);
+		if (changedClasses != null) changedClasses.addAll(classes);
+	}
+
+	private static boolean isMappingFile(Path file) {
+		return file.getFileName().toString().endsWith("." + MappingFormat.ENIGMA_FILE.fileExt);
+	}
+
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+
+	private final Path dir;
+	private final String sourceNs;
+	private final String targetNs;
+	private final MemoryMappingTree tree;
+	private final WatchService watchService;
+	private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+	private final Set<Path> registeredDirs = new HashSet<>();
+	/**
+	 * Source names of the classes read from each file, for removing them before re-reading the file.
+	 */
+	private final Map<Path, Set<String>> classesByFile = new HashMap<>();
+	/**
+	 * File each class was last read from, a class moving to another file may be read before the old file is deleted.
+	 */
+	private final Map<String, Path> fileByClass = new HashMap<>();
+	private final Map<Path, Exception> failedFiles = new HashMap<>();
+	private boolean overflow;
+}
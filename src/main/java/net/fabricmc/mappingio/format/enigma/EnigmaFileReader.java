@@ -27,6 +27,7 @@ import net.fabricmc.mappingio.MappingUtil;
 import net.fabricmc.mappingio.MappingVisitor;
 import net.fabricmc.mappingio.format.ColumnFileReader;
 import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.MappingVisitBuffer;
 import net.fabricmc.mappingio.tree.MappingTree;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
 
@@ -52,9 +53,14 @@ public final class EnigmaFileReader {
 		Set<MappingFlag> flags = visitor.getFlags();
 		MappingVisitor parentVisitor = null;
 
-		if (flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS) || flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES)) {
+		if (flags.contains(MappingFlag.NEEDS_ELEMENT_UNIQUENESS)
+				|| flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES) // the tree derives dst descs, the buffer can't
+				&& (flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC) || flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC))) {
 			parentVisitor = visitor;
 			visitor = new MemoryMappingTree();
+		} else if (flags.contains(MappingFlag.NEEDS_MULTIPLE_PASSES)) {
+			parentVisitor = visitor;
+			visitor = new MappingVisitBuffer();
 		}
 
 		if (visitor.visitHeader()) {
@@ -78,8 +84,10 @@ public final class EnigmaFileReader {
 			throw new IllegalStateException("repeated visitation requested without NEEDS_MULTIPLE_PASSES");
 		}
 
-		if (parentVisitor != null) {
+		if (visitor instanceof MappingTree) {
 			((MappingTree) visitor).accept(parentVisitor);
+		} else {
+			((MappingVisitBuffer) visitor).accept(parentVisitor);
 		}
 	}
 
@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
 
 abstract class EnigmaWriterBase implements MappingWriter {
 	EnigmaWriterBase(Writer writer) throws IOException {
@@ -83,7 +84,7 @@ abstract class EnigmaWriterBase implements MappingWriter {
 	public boolean visitMethodArg(int argPosition, int lvIndex, @Nullable String srcName) throws IOException {
 		writeIndent(1);
 		writer.write("ARG ");
-		writer.write(Integer.toString(lvIndex));
+		Utf8FileWriter.writeInt(writer, lvIndex);
 
 		return true;
 	}
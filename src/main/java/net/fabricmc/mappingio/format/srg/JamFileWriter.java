@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
 
 /**
  * {@linkplain net.fabricmc.mappingio.format.MappingFormat#JAM_FILE JAM file} writer.
@@ -155,7 +156,7 @@ public final class JamFileWriter implements MappingWriter {
 			if (!isArg) {
 				write(memberDstName);
 			} else {
-				write(Integer.toString(argSrcPosition));
+				Utf8FileWriter.writeInt(writer, argSrcPosition);
 				writeSpace();
 				write(argDstName);
 			}
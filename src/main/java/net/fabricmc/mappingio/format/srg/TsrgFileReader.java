@@ -21,9 +21,12 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingUtil;
@@ -67,6 +70,21 @@ public final class TsrgFileReader {
 	}
 
 	public static void read(Reader r, String sourceNs, String targetNs, MappingVisitor visitor) throws IOException {
+		read(r, sourceNs, targetNs, null, visitor);
+	}
+
+	/**
+	 * Read the file, only visiting the selected destination namespaces.
+	 *
+	 * <p>The name columns of the other destination namespaces get skipped without being materialized where the format
+	 * allows it. The visited destination namespaces keep their order from the file, selected namespaces missing from
+	 * the file are ignored.
+	 *
+	 * @param sourceNs The source namespace to use for formats without namespace declarations.
+	 * @param targetNs The destination namespace to use for formats without namespace declarations.
+	 * @param dstNamespaceSelection The destination namespaces to visit, or {@code null} to visit all.
+	 */
+	public static void read(Reader r, String sourceNs, String targetNs, @Nullable Collection<String> dstNamespaceSelection, MappingVisitor visitor) throws IOException {
 		ColumnFileReader reader;
 		CharArrayReader parentReader = null;
 
@@ -104,11 +122,24 @@ public final class TsrgFileReader {
 				reader.nextLine(0);
 			}
 
-			int dstNsCount = dstNamespaces.size();
+			int[] dstNsMap = new int[dstNamespaces.size()];
+			List<String> visitedDstNamespaces = dstNamespaceSelection != null ? new ArrayList<>() : dstNamespaces;
+
+			for (int i = 0; i < dstNsMap.length; i++) {
+				if (dstNamespaceSelection == null) {
+					dstNsMap[i] = i;
+				} else if (dstNamespaceSelection.contains(dstNamespaces.get(i))) {
+					dstNsMap[i] = visitedDstNamespaces.size();
+					visitedDstNamespaces.add(dstNamespaces.get(i));
+				} else {
+					dstNsMap[i] = -1;
+				}
+			}
+
 			List<String> nameTmp = dstNamespaces.size() > 1 ? new ArrayList<>(dstNamespaces.size() - 1) : null;
 
 			if (visitor.visitHeader()) {
-				visitor.visitNamespaces(srcNamespace, dstNamespaces);
+				visitor.visitNamespaces(srcNamespace, visitedDstNamespaces);
 			}
 
 			if (visitor.visitContent()) {
@@ -144,7 +175,7 @@ public final class TsrgFileReader {
 							}
 
 							if (visitor.visitMethod(parts[2], parts[4])) {
-								visitor.visitDstName(MappedElementKind.METHOD, 0, dstName);
+								visitDstName(MappedElementKind.METHOD, dstNsMap, 0, dstName, visitor);
 							}
 
 							continue;
@@ -156,7 +187,7 @@ public final class TsrgFileReader {
 							}
 
 							if (visitor.visitField(parts[2], null)) {
-								visitor.visitDstName(MappedElementKind.FIELD, 0, dstName);
+								visitDstName(MappedElementKind.FIELD, dstNsMap, 0, dstName, visitor);
 							}
 
 							continue;
@@ -174,7 +205,7 @@ public final class TsrgFileReader {
 						visitLastClass = visitor.visitClass(srcName);
 
 						if (visitLastClass) {
-							visitLastClass = readClass(reader, format == MappingFormat.TSRG_2_FILE, dstNsCount, nameTmp, visitor);
+							visitLastClass = readClass(reader, format == MappingFormat.TSRG_2_FILE, dstNsMap, nameTmp, visitor);
 						}
 					}
 				} while (reader.nextLine(0));
@@ -191,8 +222,9 @@ public final class TsrgFileReader {
 		}
 	}
 
-	private static boolean readClass(ColumnFileReader reader, boolean isTsrg2, int dstNsCount, List<String> nameTmp, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, MappedElementKind.CLASS, 0, dstNsCount, visitor);
+	private static boolean readClass(ColumnFileReader reader, boolean isTsrg2, int[] dstNsMap, List<String> nameTmp, MappingVisitor visitor) throws IOException {
+		int dstNsCount = dstNsMap.length;
+		readDstNames(reader, MappedElementKind.CLASS, 0, dstNsMap, visitor);
 		if (!visitor.visitElementContent(MappedElementKind.CLASS)) return false;
 
 		while (reader.nextLine(1)) {
@@ -206,23 +238,36 @@ public final class TsrgFileReader {
 
 			if (arg.startsWith("(")) { // method: <nameA> <descA> <names>...
 				if (visitor.visitMethod(srcName, arg)) {
-					readMethod(reader, dstNsCount, visitor);
+					readMethod(reader, dstNsMap, visitor);
 				}
 			} else if (!isTsrg2) { // tsrg1 field, never has a desc: <nameA> <names>...
 				if (visitor.visitField(srcName, null)) {
 					if (arg.isEmpty()) throw new IOException("missing field-name-b in line "+reader.getLineNumber());
-					visitor.visitDstName(MappedElementKind.FIELD, 0, arg);
-					readElement(reader, MappedElementKind.FIELD, 1, dstNsCount, visitor);
+					visitDstName(MappedElementKind.FIELD, dstNsMap, 0, arg, visitor);
+					readElement(reader, MappedElementKind.FIELD, 1, dstNsMap, visitor);
 				}
 			} else { // tsrg2 field, may have desc
 				for (int i = 0; i < dstNsCount - 1; i++) {
+					// the column belongs to namespace i or i + 1 depending on the presence of the desc, only skip if neither is selected
+					if (dstNsMap[i] < 0 && dstNsMap[i + 1] < 0) {
+						if (!reader.skipCol()) throw new IOException("missing name columns in line "+reader.getLineNumber());
+						nameTmp.add(null);
+						continue;
+					}
+
 					String name = reader.nextCol();
 					if (name == null) throw new IOException("missing name columns in line "+reader.getLineNumber());
 					if (name.isEmpty()) throw new IOException("missing destination name in line "+reader.getLineNumber());
 					nameTmp.add(name);
 				}
 
-				String lastName = reader.nextCol();
+				String lastName;
+
+				if (dstNsCount > 0 && dstNsMap[dstNsCount - 1] < 0) {
+					lastName = reader.skipCol() ? "" : null; // only the presence matters
+				} else {
+					lastName = reader.nextCol();
+				}
 				int offset;
 				String desc;
 
@@ -237,16 +282,16 @@ public final class TsrgFileReader {
 
 				if (visitor.visitField(srcName, desc)) {
 					// first name without desc
-					if (lastName == null && !arg.isEmpty()) visitor.visitDstName(MappedElementKind.FIELD, 0, arg);
+					if (lastName == null && !arg.isEmpty()) visitDstName(MappedElementKind.FIELD, dstNsMap, 0, arg, visitor);
 
 					// middle names
 					for (int i = 0; i < dstNsCount - 1; i++) {
 						String name = nameTmp.get(i);
-						if (!name.isEmpty()) visitor.visitDstName(MappedElementKind.FIELD, i + offset, name);
+						if (name != null && !name.isEmpty()) visitDstName(MappedElementKind.FIELD, dstNsMap, i + offset, name, visitor);
 					}
 
 					// last name with desc
-					if (lastName != null && !lastName.isEmpty()) visitor.visitDstName(MappedElementKind.FIELD, dstNsCount - 1, lastName);
+					if (lastName != null && !lastName.isEmpty()) visitDstName(MappedElementKind.FIELD, dstNsMap, dstNsCount - 1, lastName, visitor);
 
 					visitor.visitElementContent(MappedElementKind.FIELD);
 				}
@@ -258,8 +303,8 @@ public final class TsrgFileReader {
 		return true;
 	}
 
-	private static void readMethod(ColumnFileReader reader, int dstNsCount, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, MappedElementKind.METHOD, 0, dstNsCount, visitor);
+	private static void readMethod(ColumnFileReader reader, int[] dstNsMap, MappingVisitor visitor) throws IOException {
+		readDstNames(reader, MappedElementKind.METHOD, 0, dstNsMap, visitor);
 		if (!visitor.visitElementContent(MappedElementKind.METHOD)) return;
 
 		while (reader.nextLine(2)) {
@@ -276,25 +321,38 @@ public final class TsrgFileReader {
 				if (srcName.isEmpty()) srcName = null;
 
 				if (visitor.visitMethodArg(-1, lvIndex, srcName)) {
-					readElement(reader, MappedElementKind.METHOD_ARG, 0, dstNsCount, visitor);
+					readElement(reader, MappedElementKind.METHOD_ARG, 0, dstNsMap, visitor);
 				}
 			}
 		}
 	}
 
-	private static void readElement(ColumnFileReader reader, MappedElementKind kind, int dstNsOffset, int dstNsCount, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, kind, dstNsOffset, dstNsCount, visitor);
+	private static void readElement(ColumnFileReader reader, MappedElementKind kind, int dstNsOffset, int[] dstNsMap, MappingVisitor visitor) throws IOException {
+		readDstNames(reader, kind, dstNsOffset, dstNsMap, visitor);
 		visitor.visitElementContent(kind);
 	}
 
-	private static void readDstNames(ColumnFileReader reader, MappedElementKind subjectKind, int dstNsOffset, int dstNsCount, MappingVisitor visitor) throws IOException {
-		for (int dstNs = dstNsOffset; dstNs < dstNsCount; dstNs++) {
+	private static void readDstNames(ColumnFileReader reader, MappedElementKind subjectKind, int dstNsOffset, int[] dstNsMap, MappingVisitor visitor) throws IOException {
+		for (int dstNs = dstNsOffset; dstNs < dstNsMap.length; dstNs++) {
+			if (dstNsMap[dstNs] < 0) { // not selected
+				if (!reader.skipCol()) throw new IOException("missing name columns in line "+reader.getLineNumber());
+				continue;
+			}
+
 			String name = reader.nextCol();
 
 			if (name == null) throw new IOException("missing name columns in line "+reader.getLineNumber());
 			if (name.isEmpty()) throw new IOException("missing destination name in line "+reader.getLineNumber());
 
-			visitor.visitDstName(subjectKind, dstNs, name);
+			visitor.visitDstName(subjectKind, dstNsMap[dstNs], name);
 		}
 	}
+
+	/**
+	 * Visit a destination name by its namespace index within the file, unless the namespace isn't selected.
+	 */
+	private static void visitDstName(MappedElementKind subjectKind, int[] dstNsMap, int dstNs, String name, MappingVisitor visitor) throws IOException {
+		int visitedNs = dstNs < dstNsMap.length ? dstNsMap[dstNs] : dstNs;
+		if (visitedNs >= 0) visitor.visitDstName(subjectKind, visitedNs, name);
+	}
 }
@@ -29,6 +29,7 @@ import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingWriter;
 import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
 
 /**
  * {@linkplain MappingFormat#TSRG_FILE TSRG file} and
@@ -131,7 +132,7 @@ public final class TsrgFileWriter implements MappingWriter {
 			assert tsrg2;
 			writeTab();
 			writeTab();
-			write(Integer.toString(lvIndex));
+			Utf8FileWriter.writeInt(writer, lvIndex);
 			writeSpace();
 		case METHOD_VAR:
 			assert tsrg2;
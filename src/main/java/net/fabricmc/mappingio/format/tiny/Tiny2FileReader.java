@@ -19,8 +19,11 @@ package net.fabricmc.mappingio.format.tiny;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingVisitor;
@@ -59,10 +62,22 @@ public final class Tiny2FileReader {
 	}
 
 	public static void read(Reader reader, MappingVisitor visitor) throws IOException {
-		read(new ColumnFileReader(reader, '\t'), visitor);
+		read(reader, null, visitor);
+	}
+
+	/**
+	 * Read the file, only visiting the selected destination namespaces.
+	 *
+	 * <p>The name columns of the other destination namespaces get skipped without being materialized. The visited
+	 * destination namespaces keep their order from the file, selected namespaces missing from the file are ignored.
+	 *
+	 * @param dstNamespaceSelection The destination namespaces to visit, or {@code null} to visit all.
+	 */
+	public static void read(Reader reader, @Nullable Collection<String> dstNamespaceSelection, MappingVisitor visitor) throws IOException {
+		read(new ColumnFileReader(reader, '\t'), dstNamespaceSelection, visitor);
 	}
 
-	private static void read(ColumnFileReader reader, MappingVisitor visitor) throws IOException {
+	private static void read(ColumnFileReader reader, @Nullable Collection<String> dstNamespaceSelection, MappingVisitor visitor) throws IOException {
 		if (!reader.nextCol("tiny") // magic
 				|| reader.nextIntCol() != 2 // major version
 				|| reader.nextIntCol() < 0) { // minor version
@@ -77,7 +92,19 @@ public final class Tiny2FileReader {
 			dstNamespaces.add(dstNamespace);
 		}
 
-		int dstNsCount = dstNamespaces.size();
+		int[] dstNsMap = new int[dstNamespaces.size()];
+		List<String> visitedDstNamespaces = dstNamespaceSelection != null ? new ArrayList<>() : dstNamespaces;
+
+		for (int i = 0; i < dstNsMap.length; i++) {
+			if (dstNamespaceSelection == null) {
+				dstNsMap[i] = i;
+			} else if (dstNamespaceSelection.contains(dstNamespaces.get(i))) {
+				dstNsMap[i] = visitedDstNamespaces.size();
+				visitedDstNamespaces.add(dstNamespaces.get(i));
+			} else {
+				dstNsMap[i] = -1;
+			}
+		}
 
 		if (visitor.getFlags().contains(MappingFlag.NEEDS_MULTIPLE_PASSES)) {
 			reader.mark();
@@ -90,7 +117,7 @@ public final class Tiny2FileReader {
 			boolean visitHeader = visitor.visitHeader();
 
 			if (visitHeader) {
-				visitor.visitNamespaces(srcNamespace, dstNamespaces);
+				visitor.visitNamespaces(srcNamespace, visitedDstNamespaces);
 			}
 
 			if (visitHeader || firstIteration) {
@@ -120,7 +147,7 @@ public final class Tiny2FileReader {
 						if (srcName == null || srcName.isEmpty()) throw new IOException("missing class-name-a in line "+reader.getLineNumber());
 
 						if (visitor.visitClass(srcName)) {
-							readClass(reader, dstNsCount, escapeNames, visitor);
+							readClass(reader, dstNsMap, escapeNames, visitor);
 						}
 					}
 				}
@@ -133,8 +160,8 @@ public final class Tiny2FileReader {
 		}
 	}
 
-	private static void readClass(ColumnFileReader reader, int dstNsCount, boolean escapeNames, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, MappedElementKind.CLASS, dstNsCount, escapeNames, visitor);
+	private static void readClass(ColumnFileReader reader, int[] dstNsMap, boolean escapeNames, MappingVisitor visitor) throws IOException {
+		readDstNames(reader, MappedElementKind.CLASS, dstNsMap, escapeNames, visitor);
 		if (!visitor.visitElementContent(MappedElementKind.CLASS)) return;
 
 		while (reader.nextLine(1)) {
@@ -145,7 +172,7 @@ public final class Tiny2FileReader {
 				if (srcName == null || srcName.isEmpty()) throw new IOException("missing field-name-a in line "+reader.getLineNumber());
 
 				if (visitor.visitField(srcName, srcDesc)) {
-					readElement(reader, MappedElementKind.FIELD, dstNsCount, escapeNames, visitor);
+					readElement(reader, MappedElementKind.FIELD, dstNsMap, escapeNames, visitor);
 				}
 			} else if (reader.nextCol("m")) { // method: m <descA> <names>...
 				String srcDesc = reader.nextCol(escapeNames);
@@ -154,7 +181,7 @@ public final class Tiny2FileReader {
 				if (srcName == null || srcName.isEmpty()) throw new IOException("missing method-name-a in line "+reader.getLineNumber());
 
 				if (visitor.visitMethod(srcName, srcDesc)) {
-					readMethod(reader, dstNsCount, escapeNames, visitor);
+					readMethod(reader, dstNsMap, escapeNames, visitor);
 				}
 			} else if (reader.nextCol("c")) { // comment: c <comment>
 				readComment(reader, MappedElementKind.CLASS, visitor);
@@ -162,8 +189,8 @@ public final class Tiny2FileReader {
 		}
 	}
 
-	private static void readMethod(ColumnFileReader reader, int dstNsCount, boolean escapeNames, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, MappedElementKind.METHOD, dstNsCount, escapeNames, visitor);
+	private static void readMethod(ColumnFileReader reader, int[] dstNsMap, boolean escapeNames, MappingVisitor visitor) throws IOException {
+		readDstNames(reader, MappedElementKind.METHOD, dstNsMap, escapeNames, visitor);
 		if (!visitor.visitElementContent(MappedElementKind.METHOD)) return;
 
 		while (reader.nextLine(2)) {
@@ -175,7 +202,7 @@ public final class Tiny2FileReader {
 				if (srcName.isEmpty()) srcName = null;
 
 				if (visitor.visitMethodArg(-1, lvIndex, srcName)) {
-					readElement(reader, MappedElementKind.METHOD_ARG, dstNsCount, escapeNames, visitor);
+					readElement(reader, MappedElementKind.METHOD_ARG, dstNsMap, escapeNames, visitor);
 				}
 			} else if (reader.nextCol("v")) { // method variable: v <lv-index> <lv-start-offset> <optional-lvt-index> <names>...
 				int lvIndex = reader.nextIntCol();
@@ -188,7 +215,7 @@ public final class Tiny2FileReader {
 				if (srcName.isEmpty()) srcName = null;
 
 				if (visitor.visitMethodVar(lvtRowIndex, lvIndex, startOpIdx, -1, srcName)) {
-					readElement(reader, MappedElementKind.METHOD_VAR, dstNsCount, escapeNames, visitor);
+					readElement(reader, MappedElementKind.METHOD_VAR, dstNsMap, escapeNames, visitor);
 				}
 			} else if (reader.nextCol("c")) { // comment: c <comment>
 				readComment(reader, MappedElementKind.METHOD, visitor);
@@ -196,8 +223,8 @@ public final class Tiny2FileReader {
 		}
 	}
 
-	private static void readElement(ColumnFileReader reader, MappedElementKind kind, int dstNsCount, boolean escapeNames, MappingVisitor visitor) throws IOException {
-		readDstNames(reader, kind, dstNsCount, escapeNames, visitor);
+	private static void readElement(ColumnFileReader reader, MappedElementKind kind, int[] dstNsMap, boolean escapeNames, MappingVisitor visitor) throws IOException {
+		readDstNames(reader, kind, dstNsMap, escapeNames, visitor);
 		if (!visitor.visitElementContent(kind)) return;
 
 		while (reader.nextLine(kind.level + 1)) {
@@ -214,8 +241,13 @@ public final class Tiny2FileReader {
 		visitor.visitComment(subjectKind, comment);
 	}
 
-	private static void readDstNames(ColumnFileReader reader, MappedElementKind subjectKind, int dstNsCount, boolean escapeNames, MappingVisitor visitor) throws IOException {
-		for (int dstNs = 0; dstNs < dstNsCount; dstNs++) {
+	private static void readDstNames(ColumnFileReader reader, MappedElementKind subjectKind, int[] dstNsMap, boolean escapeNames, MappingVisitor visitor) throws IOException {
+		for (int dstNs : dstNsMap) {
+			if (dstNs < 0) { // not selected
+				if (!reader.skipCol()) throw new IOException("missing name columns in line "+reader.getLineNumber());
+				continue;
+			}
+
 			String name = reader.nextCol(escapeNames);
 			if (name == null) throw new IOException("missing name columns in line "+reader.getLineNumber());
 
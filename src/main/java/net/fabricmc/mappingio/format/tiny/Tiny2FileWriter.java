@@ -29,6 +29,7 @@ import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingWriter;
 import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
 
 /**
  * {@linkplain MappingFormat#TINY_2 Tiny v2 file} writer.
@@ -177,7 +178,7 @@ public final class Tiny2FileWriter implements MappingWriter {
 	}
 
 	private void write(int i) throws IOException {
-		write(Integer.toString(i));
+		Utf8FileWriter.writeInt(writer, i);
 	}
 
 	private void writeEscaped(String str) throws IOException {
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.format.tiny.Tiny2Util;
+import net.fabricmc.mappingio.tree.MappingTreeView.ClassMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.ElementMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.FieldMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MemberMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodArgMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodVarMappingView;
+
+/**
+ * A list of element level changes to a mapping tree, applicable in place with {@link MemoryMappingTree#applyPatch}.
+ *
+ * <p>Elements are addressed by their source names, source descriptors and indices, destination names by their
+ * namespace's name. The text representation has a header line followed by one tab separated line per change:
+ * <pre>
+ * mio-patch	1
+ * &lt;operation&gt;	&lt;kind&gt;	&lt;element key...&gt;	&lt;namespace&gt;	&lt;value&gt;
+ * </pre>
+ * The element key consists of the class name, followed by the member name and descriptor for members, args and vars,
+ * followed by the arg position and lv index for args or the lvt row index, lv index, start and end op index plus the
+ * source name for vars. Values are escaped like in Tiny v2, empty columns represent {@code null}.
+ */
+@ApiStatus.Experimental
+public final class MappingPatch {
+	/**
+	 * Create a patch turning the old tree into the new tree.
+	 *
+	 * <p>Elements are matched by their source names, so both trees have to share the same source namespace. Only
+	 * destination names of namespaces present in both trees are included. Args and vars are matched by their indices,
+	 * changes to their source names are included as renames in the source namespace.
+	 *
+	 * @throws IllegalArgumentException If the trees have no or differing source namespaces.
+	 */
+	public static MappingPatch create(MappingTreeView oldTree, MappingTreeView newTree) {
+		if (oldTree.getSrcNamespace() == null || newTree.getSrcNamespace() == null) {
+			throw new IllegalArgumentException("missing source namespace");
+		} else if (!oldTree.getSrcNamespace().equals(newTree.getSrcNamespace())) {
+			throw new IllegalArgumentException("source namespace mismatch: "+oldTree.getSrcNamespace()+" vs "+newTree.getSrcNamespace());
+		}
+
+		MappingPatch ret = new MappingPatch();
+		List<String> namespaces = new ArrayList<>();
+
+		for (String ns : newTree.getDstNamespaces()) {
+			if (oldTree.getDstNamespaces().contains(ns)) namespaces.add(ns);
+		}
+
+		MappingTreeDiff.diff(oldTree, newTree, oldTree.getSrcNamespace(), new MappingTreeDiff.ChangeHandler() {
+			@Override
+			public void added(MappedElementKind kind, ElementMappingView element) {
+				ret.addRecursive(kind, element, namespaces);
+			}
+
+			@Override
+			public void removed(MappedElementKind kind, ElementMappingView element) {
+				ret.add(Change.of(Operation.REMOVE, kind, element, null, null));
+			}
+
+			@Override
+			public void renamed(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement,
+					String namespace, @Nullable String oldName, @Nullable String newName) {
+				ret.add(Change.of(Operation.RENAME, kind, oldElement, namespace, newName));
+			}
+
+			@Override
+			public void commentChanged(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement) {
+				ret.add(Change.of(Operation.COMMENT, kind, oldElement, null, newElement.getComment()));
+			}
+		});
+
+		return ret;
+	}
+
+	private void addRecursive(MappedElementKind kind, ElementMappingView element, List<String> namespaces) {
+		add(Change.of(Operation.ADD, kind, element, null, null));
+
+		for (String ns : namespaces) {
+			String name = element.getName(ns);
+			if (name != null) add(Change.of(Operation.RENAME, kind, element, ns, name));
+		}
+
+		if (element.getComment() != null) add(Change.of(Operation.COMMENT, kind, element, null, element.getComment()));
+
+		if (kind == MappedElementKind.CLASS) {
+			for (FieldMappingView field : ((ClassMappingView) element).getFields()) {
+				addRecursive(MappedElementKind.FIELD, field, namespaces);
+			}
+
+			for (MethodMappingView method : ((ClassMappingView) element).getMethods()) {
+				addRecursive(MappedElementKind.METHOD, method, namespaces);
+			}
+		} else if (kind == MappedElementKind.METHOD) {
+			for (MethodArgMappingView arg : ((MethodMappingView) element).getArgs()) {
+				addRecursive(MappedElementKind.METHOD_ARG, arg, namespaces);
+			}
+
+			for (MethodVarMappingView var : ((MethodMappingView) element).getVars()) {
+				addRecursive(MappedElementKind.METHOD_VAR, var, namespaces);
+			}
+		}
+	}
+
+	/**
+	 * Read a patch from its text representation.
+	 *
+	 * @throws IOException If the reader fails or the text is malformed.
+	 */
+	public static MappingPatch read(Reader reader) throws IOException {
+		BufferedReader br = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		String line = br.readLine();
+
+		if (line == null || !line.equals(HEADER+"\t"+VERSION)) {
+			throw new IOException("invalid patch header: "+line);
+		}
+
+		MappingPatch ret = new MappingPatch();
+		int lineNumber = 1;
+
+		while ((line = br.readLine()) != null) {
+			lineNumber++;
+			if (line.isEmpty()) continue;
+
+			try {
+				ret.add(Change.parse(line.split("\t", -1)));
+			} catch (RuntimeException e) {
+				throw new IOException("invalid patch line "+lineNumber+": "+e.getMessage(), e);
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Write the patch in its text representation, readable with {@link #read}.
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write(HEADER);
+		writer.write('\t');
+		writer.write(VERSION);
+		writer.write('\n');
+
+		for (Change change : changes) {
+			change.write(writer);
+		}
+	}
+
+	/**
+	 * Append a change, to be applied after all previously added ones.
+	 */
+	public void add(Change change) {
+		changes.add(change);
+	}
+
+	/**
+	 * @return An unmodifiable view of the changes in application order.
+	 */
+	public List<Change> getChanges() {
+		return Collections.unmodifiableList(changes);
+	}
+
+	public enum Operation {
+		ADD("add"),
+		REMOVE("remove"),
+		RENAME("rename"),
+		DESC("desc"),
+		COMMENT("comment");
+
+		Operation(String id) {
+			this.id = id;
+		}
+
+		static Operation byId(String id) {
+			for (Operation op : values()) {
+				if (op.id.equals(id)) return op;
+			}
+
+			throw new IllegalArgumentException("unknown operation "+id);
+		}
+
+		final String id;
+	}
+
+	/**
+	 * A single change to one element.
+	 *
+	 * <p>{@link Operation#RENAME} sets the destination name in the namespace to the value, or the source name of an arg
+	 * or var if the namespace is the source namespace. {@link Operation#DESC} sets the member's source descriptor and
+	 * {@link Operation#COMMENT} the comment. Added elements start out without any names or comment.
+	 */
+	public static final class Change {
+		private Change(Operation operation, MappedElementKind kind, String className,
+				@Nullable String memberName, @Nullable String memberDesc, int[] indices, @Nullable String srcName,
+				@Nullable String namespace, @Nullable String value) {
+			this.operation = operation;
+			this.kind = kind;
+			this.className = className;
+			this.memberName = memberName;
+			this.memberDesc = memberDesc;
+			this.indices = indices;
+			this.srcName = srcName;
+			this.namespace = namespace;
+			this.value = value;
+
+			if ((operation == Operation.RENAME) != (namespace != null)) {
+				throw new IllegalArgumentException("namespace required for and only for "+Operation.RENAME);
+			} else if (operation == Operation.DESC && kind != MappedElementKind.FIELD && kind != MappedElementKind.METHOD) {
+				throw new IllegalArgumentException(operation+" is only applicable to members");
+			}
+		}
+
+		/**
+		 * Create a change targeting the supplied element, addressed through its source names.
+		 */
+		public static Change of(Operation operation, MappedElementKind kind, ElementMappingView element,
+				@Nullable String namespace, @Nullable String value) {
+			switch (kind) {
+			case CLASS:
+				return new Change(operation, kind, element.getSrcName(), null, null, NO_INDICES, null, namespace, value);
+			case FIELD:
+			case METHOD: {
+				MemberMappingView member = (MemberMappingView) element;
+
+				return new Change(operation, kind, member.getOwner().getSrcName(), member.getSrcName(), member.getSrcDesc(), NO_INDICES, null, namespace, value);
+			}
+			case METHOD_ARG: {
+				MethodArgMappingView arg = (MethodArgMappingView) element;
+				MethodMappingView method = arg.getMethod();
+
+				return new Change(operation, kind, method.getOwner().getSrcName(), method.getSrcName(), method.getSrcDesc(),
+						new int[] { arg.getArgPosition(), arg.getLvIndex() }, arg.getSrcName(), namespace, value);
+			}
+			case METHOD_VAR: {
+				MethodVarMappingView var = (MethodVarMappingView) element;
+				MethodMappingView method = var.getMethod();
+
+				return new Change(operation, kind, method.getOwner().getSrcName(), method.getSrcName(), method.getSrcDesc(),
+						new int[] { var.getLvtRowIndex(), var.getLvIndex(), var.getStartOpIdx(), var.getEndOpIdx() }, var.getSrcName(), namespace, value);
+			}
+			default:
+				throw new IllegalStateException();
+			}
+		}
+
+		static Change parse(String[] parts) {
+			if (parts.length < 3) throw new IllegalArgumentException("missing columns");
+
+			Operation operation = Operation.byId(parts[0]);
+			MappedElementKind kind = kindById(parts[1]);
+			int expectedColumns = 3 + 2 + (kind == MappedElementKind.CLASS ? 0 : 2) + indexCount(kind) + (hasSrcName(kind) ? 1 : 0);
+			if (parts.length != expectedColumns) throw new IllegalArgumentException("expected "+expectedColumns+" columns, got "+parts.length);
+
+			int pos = 2;
+			String className = read(parts[pos++]);
+			String memberName = null;
+			String memberDesc = null;
+
+			if (kind != MappedElementKind.CLASS) {
+				memberName = read(parts[pos++]);
+				memberDesc = read(parts[pos++]);
+			}
+
+			int[] indices = indexCount(kind) == 0 ? NO_INDICES : new int[indexCount(kind)];
+
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = Integer.parseInt(parts[pos++]);
+			}
+
+			String srcName = hasSrcName(kind) ? read(parts[pos++]) : null;
+			String namespace = read(parts[pos++]);
+			String value = read(parts[pos]);
+
+			if (className == null || kind != MappedElementKind.CLASS && memberName == null) {
+				throw new IllegalArgumentException("missing element name");
+			}
+
+			return new Change(operation, kind, className, memberName, memberDesc, indices, srcName, namespace, value);
+		}
+
+		void write(Writer writer) throws IOException {
+			writer.write(operation.id);
+			writer.write('\t');
+			writer.write(kindId(kind));
+			write(className, writer);
+
+			if (kind != MappedElementKind.CLASS) {
+				write(memberName, writer);
+				write(memberDesc, writer);
+			}
+
+			for (int index : indices) {
+				writer.write('\t');
+				writer.write(Integer.toString(index));
+			}
+
+			if (hasSrcName(kind)) write(srcName, writer);
+			write(namespace, writer);
+			write(value, writer);
+			writer.write('\n');
+		}
+
+		private static void write(@Nullable String str, Writer writer) throws IOException {
+			writer.write('\t');
+			if (str != null) Tiny2Util.writeEscaped(str, writer);
+		}
+
+		@Nullable
+		private static String read(String column) {
+			return column.isEmpty() ? null : Tiny2Util.unescape(column);
+		}
+
+		private static int indexCount(MappedElementKind kind) {
+			switch (kind) {
+			case METHOD_ARG:
+				return 2;
+			case METHOD_VAR:
+				return 4;
+			default:
+				return 0;
+			}
+		}
+
+		private static boolean hasSrcName(MappedElementKind kind) {
+			return kind == MappedElementKind.METHOD_ARG || kind == MappedElementKind.METHOD_VAR;
+		}
+
+		private static String kindId(MappedElementKind kind) {
+			return KIND_IDS[kind.ordinal()];
+		}
+
+		private static MappedElementKind kindById(String id) {
+			for (MappedElementKind kind : MappedElementKind.values()) {
+				if (KIND_IDS[kind.ordinal()].equals(id)) return kind;
+			}
+
+			throw new IllegalArgumentException("unknown element kind "+id);
+		}
+
+		public Operation getOperation() {
+			return operation;
+		}
+
+		public MappedElementKind getKind() {
+			return kind;
+		}
+
+		@Nullable
+		public String getNamespace() {
+			return namespace;
+		}
+
+		@Nullable
+		public String getValue() {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return operation.id+" "+kind+" "+className+(memberName != null ? "."+memberName+memberDesc : "")+(srcName != null ? ":"+srcName : "");
+		}
+
+		private static final int[] NO_INDICES = new int[0];
+		private static final String[] KIND_IDS = { "c", "f", "m", "p", "v" }; // same order as MappedElementKind
+
+		final Operation operation;
+		final MappedElementKind kind;
+		final String className;
+		@Nullable
+		final String memberName;
+		@Nullable
+		final String memberDesc;
+		/**
+		 * Arg position and lv index for args, lvt row index, lv index, start and end op index for vars.
+		 */
+		final int[] indices;
+		@Nullable
+		final String srcName;
+		@Nullable
+		final String namespace;
+		@Nullable
+		final String value;
+	}
+
+	private static final String HEADER = "mio-patch";
+	private static final String VERSION = "1";
+
+	private final List<Change> changes = new ArrayList<>();
+}
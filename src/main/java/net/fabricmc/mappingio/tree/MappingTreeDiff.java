@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.tree.MappingTreeView.ClassMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.ElementMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MemberMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodArgMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodVarMappingView;
+
+/**
+ * Structural comparison of two mapping trees.
+ *
+ * <p>Elements are matched by their name in the chosen namespace, falling back to the source name if missing there.
+ * Members additionally match by descriptor, args by lv index and position, vars by lv index, start op index and lvt
+ * row index. The children of both sides get sorted once and merged pairwise, reporting the changes to the
+ * {@link ChangeHandler} as they're encountered.
+ *
+ * <p>Added and removed elements are reported without their children. Name changes are reported for every namespace
+ * present in both trees, except for the one used for matching. Args and vars don't match by name, so their name
+ * changes in that namespace are reported as well, after all other changes to the same element.
+ */
+@ApiStatus.Experimental
+public final class MappingTreeDiff {
+	/**
+	 * Compare two trees.
+	 *
+	 * @param oldTree The tree to compare against.
+	 * @param newTree The tree whose changes are to be reported.
+	 * @param namespace The namespace to match elements by, must be present in both trees.
+	 * @param handler The receiver of the found changes.
+	 */
+	public static void diff(MappingTreeView oldTree, MappingTreeView newTree, String namespace, ChangeHandler handler) {
+		new MappingTreeDiff(oldTree, newTree, namespace, handler).diffClasses();
+	}
+
+	private MappingTreeDiff(MappingTreeView oldTree, MappingTreeView newTree, String namespace, ChangeHandler handler) {
+		this.oldTree = oldTree;
+		this.newTree = newTree;
+		this.namespace = namespace;
+		this.oldNs = oldTree.getNamespaceId(namespace);
+		this.newNs = newTree.getNamespaceId(namespace);
+		this.handler = handler;
+
+		if (oldNs == MappingTreeView.NULL_NAMESPACE_ID || newNs == MappingTreeView.NULL_NAMESPACE_ID) {
+			throw new IllegalArgumentException("namespace "+namespace+" not present in both trees");
+		}
+
+		List<String> namespaces = new ArrayList<>();
+		List<Integer> newIds = new ArrayList<>();
+
+		for (int i = oldTree.getMinNamespaceId(); i < oldTree.getMaxNamespaceId(); i++) {
+			String ns = oldTree.getNamespaceName(i);
+			int newId = newTree.getNamespaceId(ns);
+			if (ns.equals(namespace) || newId == MappingTreeView.NULL_NAMESPACE_ID) continue;
+
+			namespaces.add(ns);
+			newIds.add(newId);
+		}
+
+		this.namespaces = namespaces.toArray(new String[0]);
+		this.oldNamespaceIds = new int[namespaces.size()];
+		this.newNamespaceIds = new int[namespaces.size()];
+
+		for (int i = 0; i < this.namespaces.length; i++) {
+			oldNamespaceIds[i] = oldTree.getNamespaceId(this.namespaces[i]);
+			newNamespaceIds[i] = newIds.get(i);
+		}
+	}
+
+	private void diffClasses() {
+		merge(MappedElementKind.CLASS, oldTree.getClasses(), newTree.getClasses(), MappingTreeDiff::elementKey, this::diffClass);
+	}
+
+	private void diffClass(ClassMappingView oldCls, ClassMappingView newCls) {
+		diffElement(MappedElementKind.CLASS, oldCls, newCls);
+		merge(MappedElementKind.FIELD, oldCls.getFields(), newCls.getFields(), MappingTreeDiff::memberKey, (a, b) -> diffElement(MappedElementKind.FIELD, a, b));
+		merge(MappedElementKind.METHOD, oldCls.getMethods(), newCls.getMethods(), MappingTreeDiff::memberKey, this::diffMethod);
+	}
+
+	private void diffMethod(MethodMappingView oldMethod, MethodMappingView newMethod) {
+		diffElement(MappedElementKind.METHOD, oldMethod, newMethod);
+		merge(MappedElementKind.METHOD_ARG, oldMethod.getArgs(), newMethod.getArgs(), MappingTreeDiff::argKey, (a, b) -> diffElement(MappedElementKind.METHOD_ARG, a, b));
+		merge(MappedElementKind.METHOD_VAR, oldMethod.getVars(), newMethod.getVars(), MappingTreeDiff::varKey, (a, b) -> diffElement(MappedElementKind.METHOD_VAR, a, b));
+	}
+
+	private void diffElement(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement) {
+		for (int i = 0; i < namespaces.length; i++) {
+			String oldName = oldElement.getName(oldNamespaceIds[i]);
+			String newName = newElement.getName(newNamespaceIds[i]);
+
+			if (!Objects.equals(oldName, newName)) {
+				handler.renamed(kind, oldElement, newElement, namespaces[i], oldName, newName);
+			}
+		}
+
+		if (!Objects.equals(oldElement.getComment(), newElement.getComment())) {
+			handler.commentChanged(kind, oldElement, newElement);
+		}
+
+		if (kind == MappedElementKind.METHOD_ARG || kind == MappedElementKind.METHOD_VAR) { // matched by index, not name
+			String oldName = oldElement.getName(oldNs);
+			String newName = newElement.getName(newNs);
+
+			if (!Objects.equals(oldName, newName)) {
+				handler.renamed(kind, oldElement, newElement, namespace, oldName, newName);
+			}
+		}
+	}
+
+	/**
+	 * Match two element collections by sorting their keys and walking both in parallel.
+	 */
+	private <T extends ElementMappingView> void merge(MappedElementKind kind,
+			Collection<? extends T> oldElements, Collection<? extends T> newElements,
+			KeyFactory<T> keyFactory, BiConsumer<T, T> matchHandler) {
+		List<Key<T>> oldKeys = createKeys(oldElements, oldNs, keyFactory);
+		List<Key<T>> newKeys = createKeys(newElements, newNs, keyFactory);
+		int oldIdx = 0;
+		int newIdx = 0;
+
+		while (oldIdx < oldKeys.size() && newIdx < newKeys.size()) {
+			Key<T> oldKey = oldKeys.get(oldIdx);
+			Key<T> newKey = newKeys.get(newIdx);
+			int cmp = oldKey.compareTo(newKey);
+
+			if (cmp < 0) {
+				handler.removed(kind, oldKey.element);
+				oldIdx++;
+			} else if (cmp > 0) {
+				handler.added(kind, newKey.element);
+				newIdx++;
+			} else {
+				matchHandler.accept(oldKey.element, newKey.element);
+				oldIdx++;
+				newIdx++;
+			}
+		}
+
+		for (; oldIdx < oldKeys.size(); oldIdx++) {
+			handler.removed(kind, oldKeys.get(oldIdx).element);
+		}
+
+		for (; newIdx < newKeys.size(); newIdx++) {
+			handler.added(kind, newKeys.get(newIdx).element);
+		}
+	}
+
+	private static <T extends ElementMappingView> List<Key<T>> createKeys(Collection<? extends T> elements, int namespace, KeyFactory<T> keyFactory) {
+		List<Key<T>> ret = new ArrayList<>(elements.size());
+
+		for (T element : elements) {
+			ret.add(keyFactory.create(element, namespace));
+		}
+
+		ret.sort(null);
+
+		return ret;
+	}
+
+	private static <T extends ElementMappingView> Key<T> elementKey(T element, int namespace) {
+		return new Key<>(element, getName(element, namespace), null, 0, 0, 0);
+	}
+
+	private static <T extends MemberMappingView> Key<T> memberKey(T member, int namespace) {
+		return new Key<>(member, getName(member, namespace), member.getDesc(namespace), 0, 0, 0);
+	}
+
+	private static <T extends MethodArgMappingView> Key<T> argKey(T arg, int namespace) {
+		return new Key<>(arg, null, null, arg.getLvIndex(), arg.getArgPosition(), 0);
+	}
+
+	private static <T extends MethodVarMappingView> Key<T> varKey(T var, int namespace) {
+		return new Key<>(var, null, null, var.getLvIndex(), var.getStartOpIdx(), var.getLvtRowIndex());
+	}
+
+	private static String getName(ElementMappingView element, int namespace) {
+		String ret = element.getName(namespace);
+
+		return ret != null ? ret : element.getSrcName();
+	}
+
+	/**
+	 * Receiver for the changes found by {@link #diff}.
+	 */
+	public interface ChangeHandler {
+		/**
+		 * An element only present in the new tree.
+		 */
+		default void added(MappedElementKind kind, ElementMappingView element) { }
+
+		/**
+		 * An element only present in the old tree.
+		 */
+		default void removed(MappedElementKind kind, ElementMappingView element) { }
+
+		/**
+		 * An element present in both trees with different names in the specified namespace.
+		 */
+		default void renamed(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement,
+				String namespace, @Nullable String oldName, @Nullable String newName) { }
+
+		/**
+		 * An element present in both trees with different comments.
+		 */
+		default void commentChanged(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement) { }
+	}
+
+	private interface KeyFactory<T extends ElementMappingView> {
+		Key<T> create(T element, int namespace);
+	}
+
+	private static final class Key<T> implements Comparable<Key<T>> {
+		Key(T element, @Nullable String name, @Nullable String desc, int index0, int index1, int index2) {
+			this.element = element;
+			this.name = name;
+			this.desc = desc;
+			this.index0 = index0;
+			this.index1 = index1;
+			this.index2 = index2;
+		}
+
+		@Override
+		public int compareTo(Key<T> o) {
+			int cmp = VisitOrder.compare(name, o.name);
+			if (cmp == 0) cmp = VisitOrder.compare(desc, o.desc);
+			if (cmp == 0) cmp = Integer.compare(index0, o.index0);
+			if (cmp == 0) cmp = Integer.compare(index1, o.index1);
+			if (cmp == 0) cmp = Integer.compare(index2, o.index2);
+
+			return cmp;
+		}
+
+		final T element;
+		final String name;
+		final String desc;
+		final int index0;
+		final int index1;
+		final int index2;
+	}
+
+	private final MappingTreeView oldTree;
+	private final MappingTreeView newTree;
+	private final String namespace;
+	private final int oldNs;
+	private final int newNs;
+	private final ChangeHandler handler;
+	private final String[] namespaces;
+	private final int[] oldNamespaceIds;
+	private final int[] newNamespaceIds;
+}
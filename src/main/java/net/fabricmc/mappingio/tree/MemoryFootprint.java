@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Estimate of the memory retained by a {@link MemoryMappingTree}, as returned by
+ * {@link MemoryMappingTree#estimateFootprint()}.
+ *
+ * <p>Sizes are computed from the tree's structure for a 64-bit JVM with compressed object pointers, without inspecting
+ * the actual heap. Every string instance is only accounted for once, in the category that referenced it first.
+ */
+@ApiStatus.Experimental
+public final class MemoryFootprint {
+	MemoryFootprint() {
+	}
+
+	public enum Category {
+		/** Class entries with their source names. */
+		CLASSES,
+		/** Field and method entries with their source names, descriptors, lookup keys and per class maps. */
+		MEMBERS,
+		/** Method arg entries and lists. */
+		ARGS,
+		/** Method var entries and lists. */
+		VARS,
+		/** Comment strings. */
+		COMMENTS,
+		/** Destination name arrays and the strings referenced by them. */
+		DST_NAMES,
+		/** Metadata entries and namespace names. */
+		METADATA,
+		/** Lookup maps by class source and destination names, the method arg and var indices and cached visit orders. */
+		INDEXES
+	}
+
+	/**
+	 * @return The estimated bytes attributed to the category.
+	 */
+	public long getBytes(Category category) {
+		return bytes[category.ordinal()];
+	}
+
+	/**
+	 * @return The estimated bytes retained by the whole tree.
+	 */
+	public long getTotalBytes() {
+		long ret = 0;
+
+		for (long b : bytes) {
+			ret += b;
+		}
+
+		return ret;
+	}
+
+	/**
+	 * @return The number of distinct string instances referenced by the tree.
+	 */
+	public long getStringCount() {
+		return stringCount;
+	}
+
+	/**
+	 * @return The number of distinct string values referenced by the tree.
+	 */
+	public long getUniqueStringCount() {
+		return uniqueStringCount;
+	}
+
+	/**
+	 * @return The estimated bytes used by string instances whose value is already held by another instance, i.e. the
+	 * amount deduplicating or interning the strings would save.
+	 */
+	public long getDuplicateStringBytes() {
+		return duplicateStringBytes;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ret = new StringBuilder("total=").append(getTotalBytes());
+
+		for (Category category : Category.values()) {
+			ret.append(' ').append(category.name().toLowerCase()).append('=').append(bytes[category.ordinal()]);
+		}
+
+		return ret.append(" strings=").append(stringCount)
+				.append(" uniqueStrings=").append(uniqueStringCount)
+				.append(" duplicateStringBytes=").append(duplicateStringBytes)
+				.toString();
+	}
+
+	void addObject(Category category, int refs, int primitiveBytes) {
+		bytes[category.ordinal()] += align(OBJECT_HEADER + refs * REF + primitiveBytes);
+	}
+
+	void addRefArray(Category category, int length) {
+		bytes[category.ordinal()] += align(ARRAY_HEADER + (long) length * REF);
+	}
+
+	void addString(Category category, @Nullable String str) {
+		if (str == null || visitedStrings.put(str, Boolean.TRUE) != null) return;
+
+		long size = align(STRING_OBJECT) + align(ARRAY_HEADER + (long) str.length() * charBytes(str));
+		bytes[category.ordinal()] += size;
+		stringCount++;
+
+		if (!stringValues.add(str)) {
+			duplicateStringBytes += size;
+		}
+	}
+
+	void addList(Category category, int size) {
+		addObject(category, 1, 8); // ArrayList with elementData, size, modCount
+		addRefArray(category, size);
+	}
+
+	void addHashMap(Category category, int size, boolean linked) {
+		int capacity = Integer.highestOneBit(Math.max((int) (size / 0.75f), 1) * 2 - 1);
+
+		if (linked) { // LinkedHashMap with head, tail and accessOrder, entries with before and after
+			addObject(category, 6, 17);
+			bytes[category.ordinal()] += size * align(OBJECT_HEADER + 5 * REF + 4);
+		} else { // HashMap with table, entrySet, keySet, values, size, modCount, threshold and loadFactor
+			addObject(category, 4, 16);
+			bytes[category.ordinal()] += size * align(OBJECT_HEADER + 3 * REF + 4);
+		}
+
+		if (size > 0) addRefArray(category, capacity);
+	}
+
+	/**
+	 * Drop the state only needed while collecting.
+	 */
+	void finish() {
+		uniqueStringCount = stringValues.size();
+		visitedStrings = null;
+		stringValues = null;
+	}
+
+	private static int charBytes(String str) {
+		if (!COMPACT_STRINGS) return 2;
+
+		for (int i = 0; i < str.length(); i++) {
+			if (str.charAt(i) > 0xff) return 2;
+		}
+
+		return 1;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	private static final int OBJECT_HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REF = 4;
+	private static final int STRING_OBJECT = OBJECT_HEADER + REF + 4 + 2; // value, hash, coder, hashIsZero
+	private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "").startsWith("1.");
+
+	private final long[] bytes = new long[Category.values().length];
+	private Map<String, Boolean> visitedStrings = new IdentityHashMap<>();
+	private Set<String> stringValues = new HashSet<>();
+	private long stringCount;
+	private long uniqueStringCount;
+	private long duplicateStringBytes;
+}
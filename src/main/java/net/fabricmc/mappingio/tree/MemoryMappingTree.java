@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,13 +32,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import net.fabricmc.mappingio.JfrEvents;
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
+import net.fabricmc.mappingio.MappingUtil;
 import net.fabricmc.mappingio.MappingVisitor;
 
 /**
@@ -106,6 +110,12 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 	}
 
+	@ApiStatus.Experimental
+	@Nullable
+	public HierarchyInfoProvider<?> getHierarchyInfoProvider() {
+		return hierarchyInfo;
+	}
+
 	@Override
 	@Nullable
 	public String getSrcNamespace() {
@@ -163,6 +173,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 		List<String> ret = dstNamespaces;
 		dstNamespaces = namespaces;
+		modCount++;
 
 		if (indexByDstNames) {
 			initClassesByDstNames();
@@ -172,6 +183,8 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 	}
 
 	private void resizeDstNames(int newSize) {
+		modCount++;
+
 		for (ClassEntry cls : classesBySrcName.values()) {
 			cls.resizeDstNames(newSize);
 
@@ -194,6 +207,8 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 	}
 
 	private void updateDstNames(int[] nameMap) {
+		modCount++;
+
 		for (ClassEntry cls : classesBySrcName.values()) {
 			cls.updateDstNames(nameMap);
 
@@ -215,6 +230,303 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 	}
 
+	/**
+	 * Switch the source namespace with one of the destination namespaces, modifying the tree in place.
+	 *
+	 * <p>The result matches passing the tree through {@link net.fabricmc.mappingio.adapter.MappingSourceNsSwitch} into
+	 * a new tree: elements without a name in the new source namespace keep their current source name, member descriptors
+	 * get remapped and elements ending up with the same source name (and compatible descriptor, a missing or
+	 * parameter-only descriptor matching a full one) are merged.
+	 *
+	 * @param newSrcNamespace The destination namespace to use as the new source namespace.
+	 */
+	public void switchSourceNamespace(String newSrcNamespace) {
+		int ns = dstNamespaces.indexOf(newSrcNamespace);
+		if (ns < 0) throw new IllegalArgumentException("invalid new source namespace "+newSrcNamespace+": not in "+dstNamespaces);
+
+		Map<String, String> classMap = new HashMap<>(classesBySrcName.size());
+
+		for (ClassEntry cls : classesBySrcName.values()) {
+			String name = cls.dstNames[ns];
+			if (name != null) classMap.put(cls.srcName, name);
+		}
+
+		Map<String, String> descCache = new HashMap<>();
+		List<ClassEntry> classes = new ArrayList<>(classesBySrcName.values());
+
+		for (ClassEntry cls : classes) {
+			cls.switchSrcNamespace(ns, classMap, descCache);
+		}
+
+		List<String> newDstNamespaces = new ArrayList<>(dstNamespaces);
+		newDstNamespaces.set(ns, srcNamespace);
+		srcNamespace = newSrcNamespace;
+		dstNamespaces = newDstNamespaces;
+		classesBySrcName.clear();
+
+		for (ClassEntry cls : classes) {
+			ClassEntry prev = classesBySrcName.putIfAbsent(cls.srcName, cls);
+			if (prev != null) prev.copyFrom(cls, true);
+		}
+
+		if (indexByDstNames) {
+			initClassesByDstNames();
+		}
+
+		modCount++;
+	}
+
+	/**
+	 * Complete missing destination names in place, equivalent to passing the tree through
+	 * {@link net.fabricmc.mappingio.adapter.MappingNsCompleter}.
+	 *
+	 * @param alternatives A map of which namespaces should copy from which others.
+	 */
+	public void completeNamespaces(Map<String, String> alternatives) {
+		completeNamespaces(alternatives, false);
+	}
+
+	/**
+	 * Complete missing destination names in place, equivalent to passing the tree through
+	 * {@link net.fabricmc.mappingio.adapter.MappingNsCompleter}.
+	 *
+	 * @param alternatives A map of which namespaces should copy from which others.
+	 * @param addMissingNs Whether or not to add namespaces from the alternatives keyset if not already present.
+	 */
+	public void completeNamespaces(Map<String, String> alternatives, boolean addMissingNs) {
+		if (addMissingNs) {
+			List<String> newDstNamespaces = null;
+
+			for (String ns : alternatives.keySet()) {
+				if (ns.equals(srcNamespace) || dstNamespaces.contains(ns)) continue;
+				if (newDstNamespaces == null) newDstNamespaces = new ArrayList<>(dstNamespaces);
+
+				newDstNamespaces.add(ns);
+			}
+
+			if (newDstNamespaces != null) setDstNamespaces(newDstNamespaces);
+		}
+
+		int count = dstNamespaces.size();
+		int[] alternativesMapping = new int[count];
+		boolean anyAlternative = false;
+
+		for (int i = 0; i < count; i++) {
+			String src = alternatives.get(dstNamespaces.get(i));
+			int srcIdx;
+
+			if (src == null) {
+				srcIdx = i;
+			} else if (src.equals(srcNamespace)) {
+				srcIdx = -1;
+				anyAlternative = true;
+			} else {
+				srcIdx = dstNamespaces.indexOf(src);
+				if (srcIdx < 0) throw new IllegalArgumentException("invalid alternative mapping ns "+src+": not in "+dstNamespaces+" or "+srcNamespace);
+				anyAlternative |= srcIdx != i;
+			}
+
+			alternativesMapping[i] = srcIdx;
+		}
+
+		if (!anyAlternative) return;
+
+		// resolve the alternative chains once instead of per element, SRC_NAMESPACE_ID stands for the src name
+		int[][] chains = new int[count][];
+
+		for (int i = 0; i < count; i++) {
+			int[] chain = new int[count + 1];
+			int len = 0;
+			int src = i;
+			long visited = 1L << src;
+
+			for (;;) {
+				int newSrc = alternativesMapping[src];
+
+				if (newSrc < 0) {
+					chain[len++] = SRC_NAMESPACE_ID;
+					break;
+				} else if (newSrc == src || (visited & 1L << newSrc) != 0) { // identity or cyclic mapping
+					break;
+				}
+
+				src = newSrc;
+				visited |= 1L << src;
+				chain[len++] = src;
+			}
+
+			chains[i] = Arrays.copyOf(chain, len);
+		}
+
+		String[] origDstNames = new String[count];
+
+		for (ClassEntry cls : classesBySrcName.values()) {
+			cls.completeDstNames(chains, origDstNames);
+
+			for (FieldEntry field : cls.getFields()) {
+				field.completeDstNames(chains, origDstNames);
+			}
+
+			for (MethodEntry method : cls.getMethods()) {
+				method.completeDstNames(chains, origDstNames);
+
+				for (MethodArgEntry arg : method.getArgs()) {
+					arg.completeDstNames(chains, origDstNames);
+				}
+
+				for (MethodVarEntry var : method.getVars()) {
+					var.completeDstNames(chains, origDstNames);
+				}
+			}
+		}
+
+		if (indexByDstNames) {
+			initClassesByDstNames();
+		}
+
+		modCount++;
+	}
+
+	/**
+	 * Apply the changes of a patch in place, in order.
+	 *
+	 * @throws IllegalArgumentException If a change targets a missing element or namespace. The changes before it remain
+	 * applied.
+	 */
+	@ApiStatus.Experimental
+	public void applyPatch(MappingPatch patch) {
+		for (MappingPatch.Change change : patch.getChanges()) {
+			applyChange(change);
+		}
+	}
+
+	private void applyChange(MappingPatch.Change change) {
+		if (change.operation == MappingPatch.Operation.ADD) {
+			addPatchElement(change);
+			return;
+		}
+
+		if (change.operation == MappingPatch.Operation.REMOVE) {
+			if (removePatchElement(change) == null) throw new IllegalArgumentException("can't find element to remove: "+change);
+			return;
+		}
+
+		Entry<?> entry = getPatchElement(change);
+		if (entry == null) throw new IllegalArgumentException("can't find element to change: "+change);
+
+		switch (change.operation) {
+		case RENAME: {
+			int ns = getNamespaceId(change.namespace);
+
+			if (ns == SRC_NAMESPACE_ID && entry instanceof MethodArgEntry) {
+				((MethodArgEntry) entry).setSrcName(change.value);
+			} else if (ns == SRC_NAMESPACE_ID && entry instanceof MethodVarEntry) {
+				((MethodVarEntry) entry).setSrcName(change.value);
+			} else if (ns < 0) {
+				throw new IllegalArgumentException("invalid destination namespace "+change.namespace+": not in "+dstNamespaces);
+			} else {
+				entry.setDstName(change.value, ns);
+			}
+
+			break;
+		}
+		case DESC:
+			((MemberEntry<?>) entry).setSrcDesc(change.value);
+			break;
+		case COMMENT:
+			entry.setComment(change.value);
+			break;
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	private void addPatchElement(MappingPatch.Change change) {
+		if (change.kind == MappedElementKind.CLASS) {
+			if (getClass(change.className) == null) addClass(new ClassEntry(this, change.className));
+			return;
+		}
+
+		ClassEntry cls = (ClassEntry) getClass(change.className);
+		if (cls == null) throw new IllegalArgumentException("can't find owner class: "+change);
+
+		switch (change.kind) {
+		case FIELD:
+			cls.addField(new FieldEntry(cls, change.memberName, change.memberDesc));
+			break;
+		case METHOD:
+			cls.addMethod(new MethodEntry(cls, change.memberName, change.memberDesc));
+			break;
+		case METHOD_ARG:
+		case METHOD_VAR: {
+			MethodEntry method = cls.getMethod(change.memberName, change.memberDesc);
+			if (method == null) throw new IllegalArgumentException("can't find owner method: "+change);
+
+			int[] idx = change.indices;
+
+			if (change.kind == MappedElementKind.METHOD_ARG) {
+				method.addArg(new MethodArgEntry(method, idx[0], idx[1], change.srcName));
+			} else {
+				method.addVar(new MethodVarEntry(method, idx[0], idx[1], idx[2], idx[3], change.srcName));
+			}
+
+			break;
+		}
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	@Nullable
+	private Entry<?> removePatchElement(MappingPatch.Change change) {
+		if (change.kind == MappedElementKind.CLASS) return (Entry<?>) removeClass(change.className);
+
+		ClassEntry cls = (ClassEntry) getClass(change.className);
+		if (cls == null) return null;
+
+		switch (change.kind) {
+		case FIELD:
+			return cls.removeField(change.memberName, change.memberDesc);
+		case METHOD:
+			return cls.removeMethod(change.memberName, change.memberDesc);
+		default:
+			MethodEntry method = cls.getMethod(change.memberName, change.memberDesc);
+			if (method == null) return null;
+
+			int[] idx = change.indices;
+
+			if (change.kind == MappedElementKind.METHOD_ARG) {
+				return method.removeArg(idx[0], idx[1], change.srcName);
+			} else {
+				return method.removeVar(idx[0], idx[1], idx[2], idx[3], change.srcName);
+			}
+		}
+	}
+
+	@Nullable
+	private Entry<?> getPatchElement(MappingPatch.Change change) {
+		ClassEntry cls = (ClassEntry) getClass(change.className);
+		if (cls == null || change.kind == MappedElementKind.CLASS) return cls;
+
+		switch (change.kind) {
+		case FIELD:
+			return cls.getField(change.memberName, change.memberDesc);
+		case METHOD:
+			return cls.getMethod(change.memberName, change.memberDesc);
+		default:
+			MethodEntry method = cls.getMethod(change.memberName, change.memberDesc);
+			if (method == null) return null;
+
+			int[] idx = change.indices;
+
+			if (change.kind == MappedElementKind.METHOD_ARG) {
+				return method.getArg(idx[0], idx[1], change.srcName);
+			} else {
+				return method.getVar(idx[0], idx[1], idx[2], idx[3], change.srcName);
+			}
+		}
+	}
+
 	@Override
 	public List<? extends MetadataEntry> getMetadata() {
 		return metadata;
@@ -262,6 +574,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 	public ClassMapping addClass(ClassMapping cls) {
 		ClassEntry entry = cls instanceof ClassEntry && cls.getTree() == this ? (ClassEntry) cls : new ClassEntry(this, cls, getSrcNsEquivalent(cls));
 		ClassEntry ret = classesBySrcName.putIfAbsent(cls.getSrcName(), entry);
+		modCount++;
 
 		if (ret != null) {
 			ret.copyFrom(entry, false);
@@ -289,6 +602,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 	@Nullable
 	public ClassMapping removeClass(String srcName) {
 		ClassEntry ret = classesBySrcName.remove(srcName);
+		if (ret != null) modCount++;
 
 		if (ret != null && indexByDstNames) {
 			for (int i = 0; i < ret.dstNames.length; i++) {
@@ -300,9 +614,152 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		return ret;
 	}
 
+	/**
+	 * Estimate the memory retained by this tree, broken down by category.
+	 *
+	 * <p>This walks the whole tree and temporarily allocates lookup structures proportional to the number of distinct
+	 * strings, but is still far cheaper than a heap dump.
+	 */
+	@ApiStatus.Experimental
+	public MemoryFootprint estimateFootprint() {
+		MemoryFootprint ret = new MemoryFootprint();
+
+		ret.addString(MemoryFootprint.Category.METADATA, srcNamespace);
+
+		for (String ns : dstNamespaces) {
+			ret.addString(MemoryFootprint.Category.METADATA, ns);
+		}
+
+		ret.addList(MemoryFootprint.Category.METADATA, metadata.size());
+
+		for (MetadataEntry entry : metadata) {
+			ret.addObject(MemoryFootprint.Category.METADATA, 2, 0);
+			ret.addString(MemoryFootprint.Category.METADATA, entry.getKey());
+			ret.addString(MemoryFootprint.Category.METADATA, entry.getValue());
+		}
+
+		ret.addHashMap(MemoryFootprint.Category.INDEXES, classesBySrcName.size(), true);
+
+		if (indexByDstNames) {
+			ret.addRefArray(MemoryFootprint.Category.INDEXES, classesByDstNames.length);
+
+			for (Map<String, ClassEntry> map : classesByDstNames) {
+				ret.addHashMap(MemoryFootprint.Category.INDEXES, map.size(), false);
+			}
+		}
+
+		for (ClassEntry cls : classesBySrcName.values()) {
+			ret.addObject(MemoryFootprint.Category.CLASSES, 6, 1);
+			ret.addString(MemoryFootprint.Category.CLASSES, cls.srcName);
+			addEntryFootprint(cls, ret);
+
+			if (cls.fields != null) {
+				ret.addHashMap(MemoryFootprint.Category.MEMBERS, cls.fields.size(), true);
+
+				for (FieldEntry field : cls.fields.values()) {
+					ret.addObject(MemoryFootprint.Category.MEMBERS, 7, 0);
+					addMemberFootprint(field, ret);
+				}
+			}
+
+			if (cls.methods != null) {
+				ret.addHashMap(MemoryFootprint.Category.MEMBERS, cls.methods.size(), true);
+
+				for (MethodEntry method : cls.methods.values()) {
+					ret.addObject(MemoryFootprint.Category.MEMBERS, 11, 8);
+					addMemberFootprint(method, ret);
+
+					if (method.args != null) {
+						ret.addList(MemoryFootprint.Category.ARGS, method.args.size());
+
+						for (MethodArgEntry arg : method.args) {
+							ret.addObject(MemoryFootprint.Category.ARGS, 5, 12);
+							ret.addString(MemoryFootprint.Category.ARGS, arg.srcName);
+							addEntryFootprint(arg, ret);
+						}
+					}
+
+					if (method.argIndex != null) {
+						ret.addObject(MemoryFootprint.Category.INDEXES, 2, 4);
+						ret.addRefArray(MemoryFootprint.Category.INDEXES, method.argIndex.argsByPosition.length);
+						ret.addRefArray(MemoryFootprint.Category.INDEXES, method.argIndex.argsByLvIndex.length);
+					}
+
+					if (method.vars != null) {
+						ret.addList(MemoryFootprint.Category.VARS, method.vars.size());
+
+						for (MethodVarEntry var : method.vars) {
+							ret.addObject(MemoryFootprint.Category.VARS, 5, 20);
+							ret.addString(MemoryFootprint.Category.VARS, var.srcName);
+							addEntryFootprint(var, ret);
+						}
+					}
+
+					if (method.varIndex != null) {
+						ret.addObject(MemoryFootprint.Category.INDEXES, 2, 0);
+
+						for (Map<Integer, List<MethodVarEntry>> map : Arrays.asList(method.varIndex.byLvtRowIndex, method.varIndex.byLvIndex)) {
+							ret.addHashMap(MemoryFootprint.Category.INDEXES, map.size(), false);
+
+							for (List<MethodVarEntry> bucket : map.values()) {
+								ret.addList(MemoryFootprint.Category.INDEXES, bucket.size());
+							}
+						}
+					}
+				}
+			}
+		}
+
+		synchronized (sortCaches) {
+			ret.addHashMap(MemoryFootprint.Category.INDEXES, sortCaches.size(), true);
+
+			for (SortCache cache : sortCaches.values()) {
+				ret.addObject(MemoryFootprint.Category.INDEXES, 5, 2); // key
+				cache.addFootprint(ret);
+			}
+		}
+
+		ret.finish();
+
+		return ret;
+	}
+
+	private static void addMemberFootprint(MemberEntry<?> member, MemoryFootprint footprint) {
+		footprint.addString(MemoryFootprint.Category.MEMBERS, member.srcName);
+		footprint.addString(MemoryFootprint.Category.MEMBERS, member.srcDesc);
+
+		if (member.key != null) {
+			footprint.addObject(MemoryFootprint.Category.MEMBERS, 2, 4);
+			footprint.addString(MemoryFootprint.Category.MEMBERS, member.key.name);
+			footprint.addString(MemoryFootprint.Category.MEMBERS, member.key.desc);
+		}
+
+		addEntryFootprint(member, footprint);
+	}
+
+	/**
+	 * Account for the parts common to all entries, i.e. the destination names and comment.
+	 */
+	private static void addEntryFootprint(Entry<?> entry, MemoryFootprint footprint) {
+		if (entry.dstNames != null) {
+			footprint.addRefArray(MemoryFootprint.Category.DST_NAMES, entry.dstNames.length);
+
+			for (String name : entry.dstNames) {
+				footprint.addString(MemoryFootprint.Category.DST_NAMES, name);
+			}
+		}
+
+		footprint.addString(MemoryFootprint.Category.COMMENTS, entry.comment);
+	}
+
 	@Override
 	public void accept(MappingVisitor visitor, VisitOrder order) throws IOException {
+		JfrEvents.Event event = JfrEvents.ACCEPT.begin();
+		int passes = 0;
+
 		do {
+			passes++;
+
 			if (visitor.visitHeader()) {
 				visitor.visitNamespaces(srcNamespace, dstNamespaces);
 				Collection<MetadataEntry> metadataToVisit = metadata;
@@ -334,11 +791,36 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 				boolean supplyFieldDstDescs = flags.contains(MappingFlag.NEEDS_DST_FIELD_DESC);
 				boolean supplyMethodDstDescs = flags.contains(MappingFlag.NEEDS_DST_METHOD_DESC);
 
-				for (ClassEntry cls : order.sortClasses(classesBySrcName.values())) {
-					cls.accept(visitor, order, supplyFieldDstDescs, supplyMethodDstDescs);
+				SortCache sortCache = getSortCache(order);
+
+				for (ClassEntry cls : sortCache.sortClasses(classesBySrcName.values())) {
+					cls.accept(visitor, sortCache, supplyFieldDstDescs, supplyMethodDstDescs);
 				}
 			}
 		} while (!visitor.visitEnd());
+
+		if (event != null) event.commit(visitor.getClass().getName(), classesBySrcName.size(), passes);
+	}
+
+	/**
+	 * Get the sorted element orders for the supplied visit order, reusing previous results while the tree didn't change.
+	 *
+	 * <p>Results are shared between visit orders with the same comparator instances and flags, e.g. ones from separate
+	 * {@link VisitOrder#createByName()} calls. Only the {@value #MAX_SORT_CACHES} most recently used configurations
+	 * are retained.
+	 */
+	SortCache getSortCache(VisitOrder order) {
+		SortKey key = new SortKey(order);
+		if (key.isInputOrder()) return new SortCache(key); // input order, nothing to cache
+
+		synchronized (sortCaches) {
+			if (sortCachesModCount != modCount) {
+				sortCaches.clear();
+				sortCachesModCount = modCount;
+			}
+
+			return sortCaches.computeIfAbsent(key, SortCache::new);
+		}
 	}
 
 	@Override
@@ -428,6 +910,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			} else {
 				cls = new ClassEntry(this, srcName);
 				classesBySrcName.put(srcName, cls);
+				modCount++;
 			}
 		}
 
@@ -607,6 +1090,8 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		int nsId = getNamespaceId(provider.getNamespace());
 		if (nsId == NULL_NAMESPACE_ID) return;
 
+		JfrEvents.Event event = JfrEvents.PROPAGATE_NAMES.begin();
+		int hierarchies = 0;
 		Set<MethodEntry> processed = Collections.newSetFromMap(new IdentityHashMap<>());
 
 		for (ClassEntry cls : classesBySrcName.values()) {
@@ -648,8 +1133,12 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 						}
 					}
 				}
+
+				hierarchies++;
 			}
 		}
+
+		if (event != null) event.commit(provider.getNamespace(), classesBySrcName.size(), hierarchies);
 	}
 
 	@Override
@@ -667,6 +1156,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 				if (currentClass.srcName == null) {
 					currentClass.srcName = name;
+					modCount++;
 				} else {
 					throw new UnsupportedOperationException("can't change src name for "+currentEntry.getKind());
 				}
@@ -747,6 +1237,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Override
 		public void setDstName(String name, int namespace) {
 			dstNames[namespace] = name;
+			tree.modCount++;
 		}
 
 		void resizeDstNames(int newSize) {
@@ -767,6 +1258,50 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			dstNames = newDstNames;
 		}
 
+		/**
+		 * Fill missing destination names from the first present name in the namespace's alternative chain.
+		 *
+		 * @param chains The namespaces to try for each destination namespace, {@link MappingTreeView#SRC_NAMESPACE_ID} for the source name.
+		 * @param buffer Scratch array with the size of the destination names.
+		 */
+		void completeDstNames(int[][] chains, String[] buffer) {
+			boolean copied = false;
+
+			for (int i = 0; i < dstNames.length; i++) {
+				if (dstNames[i] != null) continue;
+
+				if (!copied) { // resolve from the original names, not the ones completed in this loop
+					System.arraycopy(dstNames, 0, buffer, 0, dstNames.length);
+					copied = true;
+				}
+
+				for (int src : chains[i]) {
+					String name = src == SRC_NAMESPACE_ID ? srcName : buffer[src];
+
+					if (name != null) {
+						dstNames[i] = name;
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Swap the source name with the name in the supplied destination namespace, keeping the source name if the
+		 * latter is missing and the element requires one.
+		 */
+		void switchSrcName(int namespace) {
+			String newSrcName = dstNames[namespace];
+			MappedElementKind kind = getKind();
+
+			if (newSrcName == null && kind != MappedElementKind.METHOD_ARG && kind != MappedElementKind.METHOD_VAR) {
+				newSrcName = srcName;
+			}
+
+			dstNames[namespace] = srcName;
+			srcName = newSrcName;
+		}
+
 		@Override
 		@Nullable
 		public final String getComment() {
@@ -776,6 +1311,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Override
 		public final void setComment(String comment) {
 			this.comment = comment;
+			tree.modCount++;
 		}
 
 		protected final boolean acceptElement(MappingVisitor visitor, @Nullable String[] dstDescs) throws IOException {
@@ -805,6 +1341,8 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 
 		protected void copyFrom(T o, boolean replace) {
+			tree.modCount++;
+
 			for (int i = 0; i < dstNames.length; i++) {
 				if (o.dstNames[i] != null && (replace || dstNames[i] == null)) {
 					dstNames[i] = o.dstNames[i];
@@ -814,8 +1352,6 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			if (o.comment != null && (replace || comment == null)) {
 				comment = o.comment;
 			}
-
-			// TODO: copy args+vars
 		}
 
 		protected final MemoryMappingTree tree;
@@ -903,7 +1439,11 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Nullable
 		public FieldEntry removeField(String srcName, @Nullable String srcDesc) {
 			FieldEntry ret = getField(srcName, srcDesc);
-			if (ret != null) fields.remove(ret.key);
+
+			if (ret != null) {
+				fields.remove(ret.key);
+				tree.modCount++;
+			}
 
 			return ret;
 		}
@@ -940,7 +1480,11 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Nullable
 		public MethodEntry removeMethod(String srcName, @Nullable String srcDesc) {
 			MethodEntry ret = getMethod(srcName, srcDesc);
-			if (ret != null) methods.remove(ret.key);
+
+			if (ret != null) {
+				methods.remove(ret.key);
+				tree.modCount++;
+			}
 
 			return ret;
 		}
@@ -1005,6 +1549,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 
 		private <T extends MemberEntry<T>> T addMember(T entry, Map<MemberKey, T> map, int flagHasAny, int flagMissesAny) {
+			tree.modCount++;
 			T ret = map.putIfAbsent(entry.key, entry);
 
 			if (ret != null) { // same desc
@@ -1045,30 +1590,89 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			}
 		}
 
-		void accept(MappingVisitor visitor, VisitOrder order, boolean supplyFieldDstDescs, boolean supplyMethodDstDescs) throws IOException {
+		void accept(MappingVisitor visitor, SortCache sortCache, boolean supplyFieldDstDescs, boolean supplyMethodDstDescs) throws IOException {
 			if (visitor.visitClass(srcName) && acceptElement(visitor, null)) {
-				boolean methodsFirst = order.isMethodsFirst() && fields != null && methods != null;
+				boolean methodsFirst = sortCache.methodsFirst && fields != null && methods != null;
 
 				if (!methodsFirst && fields != null) {
-					for (FieldEntry field : order.sortFields(fields.values())) {
+					for (FieldEntry field : sortCache.sortFields(this, fields.values())) {
 						field.accept(visitor, supplyFieldDstDescs);
 					}
 				}
 
 				if (methods != null) {
-					for (MethodEntry method : order.sortMethods(methods.values())) {
-						method.accept(visitor, order, supplyMethodDstDescs);
+					for (MethodEntry method : sortCache.sortMethods(this, methods.values())) {
+						method.accept(visitor, sortCache, supplyMethodDstDescs);
 					}
 				}
 
 				if (methodsFirst) {
-					for (FieldEntry field : order.sortFields(fields.values())) {
+					for (FieldEntry field : sortCache.sortFields(this, fields.values())) {
 						field.accept(visitor, supplyFieldDstDescs);
 					}
 				}
 			}
 		}
 
+		void switchSrcNamespace(int namespace, Map<String, String> classMap, Map<String, String> descCache) {
+			switchSrcName(namespace);
+			flags = 0;
+
+			if (fields != null) {
+				fields = switchMemberSrcNamespace(fields, namespace, classMap, descCache, FLAG_HAS_ANY_FIELD_DESC, FLAG_MISSES_ANY_FIELD_DESC);
+			}
+
+			if (methods != null) {
+				for (MethodEntry method : methods.values()) {
+					method.switchArgVarSrcNamespace(namespace);
+				}
+
+				methods = switchMemberSrcNamespace(methods, namespace, classMap, descCache, FLAG_HAS_ANY_METHOD_DESC, FLAG_MISSES_ANY_METHOD_DESC);
+			}
+		}
+
+		private <T extends MemberEntry<T>> Map<MemberKey, T> switchMemberSrcNamespace(Map<MemberKey, T> members, int namespace,
+				Map<String, String> classMap, Map<String, String> descCache, int flagHasAny, int flagMissesAny) {
+			Map<MemberKey, T> ret = new LinkedHashMap<>(members.size());
+
+			for (T member : members.values()) {
+				member.switchSrcName(namespace);
+
+				if (member.srcDesc != null) {
+					String desc = descCache.get(member.srcDesc);
+
+					if (desc == null) {
+						desc = MappingUtil.mapDesc(member.srcDesc, classMap);
+						descCache.put(member.srcDesc, desc);
+					}
+
+					member.srcDesc = desc;
+				}
+
+				member.key = new MemberKey(member.srcName, member.srcDesc);
+				// same matching and desc upgrading as visitField/visitMethod, the later member's content wins like with repeated visits
+				T prev = getMember(member.srcName, member.srcDesc, ret, flags, flagHasAny, flagMissesAny);
+
+				if (prev == null) {
+					ret.put(member.key, member);
+					flags |= member.srcDesc != null && !member.srcDesc.endsWith(")") ? flagHasAny : flagMissesAny;
+				} else {
+					if (member.srcDesc != null
+							&& (prev.srcDesc == null || prev.srcDesc.endsWith(")") && !member.srcDesc.endsWith(")"))) { // extra location info
+						ret.remove(prev.key);
+						prev.key = member.key;
+						prev.srcDesc = member.srcDesc;
+						ret.put(prev.key, prev);
+						flags |= member.srcDesc.endsWith(")") ? flagMissesAny : flagHasAny;
+					}
+
+					prev.copyFrom(member, true);
+				}
+			}
+
+			return ret;
+		}
+
 		@Override
 		protected void copyFrom(ClassEntry o, boolean replace) {
 			super.copyFrom(o, replace);
@@ -1209,6 +1813,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 			owner.fields.remove(key);
 			srcDesc = desc;
+			tree.modCount++;
 			key = newKey;
 			owner.fields.put(newKey, this);
 
@@ -1262,6 +1867,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 			owner.methods.remove(key);
 			srcDesc = desc;
+			tree.modCount++;
 			key = newKey;
 			owner.methods.put(newKey, this);
 
@@ -1272,6 +1878,20 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			}
 		}
 
+		void switchArgVarSrcNamespace(int namespace) {
+			if (args != null) {
+				for (MethodArgEntry arg : args) {
+					arg.switchSrcName(namespace);
+				}
+			}
+
+			if (vars != null) {
+				for (MethodVarEntry var : vars) {
+					var.switchSrcName(namespace);
+				}
+			}
+		}
+
 		@Override
 		public Collection<MethodArgEntry> getArgs() {
 			if (args == null) return Collections.emptyList();
@@ -1284,7 +1904,10 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		public MethodArgEntry getArg(int argPosition, int lvIndex, @Nullable String srcName) {
 			if (args == null) return null;
 
-			if (argPosition >= 0 || lvIndex >= 0) {
+			if (argIndex != null) {
+				MethodArgEntry ret = argIndex.get(argPosition, lvIndex, srcName);
+				if (ret != null || argIndex.incompleteArgs == 0 && (argPosition >= 0 || lvIndex >= 0)) return ret;
+			} else if (argPosition >= 0 || lvIndex >= 0) {
 				for (MethodArgEntry entry : args) {
 					if (argPosition >= 0 && entry.argPosition == argPosition
 							|| lvIndex >= 0 && entry.lvIndex == lvIndex) {
@@ -1294,7 +1917,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 				}
 			}
 
-			if (srcName != null) {
+			if (srcName != null) { // name based fallback, the index only helps with complete args
 				for (MethodArgEntry entry : args) {
 					if (srcName.equals(entry.srcName)
 							&& (argPosition < 0 || entry.argPosition < 0)
@@ -1313,8 +1936,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			MethodArgEntry prev = getArg(arg.getArgPosition(), arg.getLvIndex(), arg.getSrcName());
 
 			if (prev == null) {
-				if (args == null) args = new ArrayList<>();
-				args.add(entry);
+				appendArg(entry);
 			} else {
 				updateArg(prev, entry, false);
 			}
@@ -1322,6 +1944,21 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			return entry;
 		}
 
+		/**
+		 * Add an arg already known to be missing.
+		 */
+		private void appendArg(MethodArgEntry entry) {
+			if (args == null) {
+				args = new ArrayList<>();
+				argIndex = new ArgIndex();
+			}
+
+			args.add(entry);
+			entry.seq = nextArgSeq++;
+			tree.modCount++;
+			if (argIndex != null && !argIndex.add(entry)) argIndex = null;
+		}
+
 		private void updateArg(MethodArgEntry existing, MethodArgEntry toAdd, boolean replace) {
 			if (toAdd.argPosition >= 0 && existing.argPosition < 0) existing.setArgPosition(toAdd.argPosition);
 			if (toAdd.lvIndex >= 0 && existing.lvIndex < 0) existing.setLvIndex(toAdd.getLvIndex());
@@ -1333,7 +1970,12 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Nullable
 		public MethodArgEntry removeArg(int argPosition, int lvIndex, @Nullable String srcName) {
 			MethodArgEntry ret = getArg(argPosition, lvIndex, srcName);
-			if (ret != null) args.remove(ret);
+
+			if (ret != null) {
+				args.remove(ret);
+				if (argIndex != null) argIndex.remove(ret);
+				tree.modCount++;
+			}
 
 			return ret;
 		}
@@ -1351,24 +1993,44 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			if (vars == null) return null;
 
 			if (lvtRowIndex >= 0) {
-				boolean hasMissing = false;
+				if (varIndex != null) {
+					List<MethodVarEntry> bucket = varIndex.byLvtRowIndex.get(lvtRowIndex);
+					if (bucket != null) return bucket.get(0);
+					if (!varIndex.byLvtRowIndex.containsKey(-1)) return null;
+				} else {
+					boolean hasMissing = false;
 
-				for (MethodVarEntry entry : vars) {
-					if (entry.lvtRowIndex == lvtRowIndex) {
-						return entry;
-					} else if (entry.lvtRowIndex < 0) {
-						hasMissing = true;
+					for (MethodVarEntry entry : vars) {
+						if (entry.lvtRowIndex == lvtRowIndex) {
+							return entry;
+						} else if (entry.lvtRowIndex < 0) {
+							hasMissing = true;
+						}
 					}
-				}
 
-				if (!hasMissing) return null;
+					if (!hasMissing) return null;
+				}
 			}
 
 			if (lvIndex >= 0) {
 				boolean hasMissing = false;
 				MethodVarEntry bestMatch = null;
+				Collection<MethodVarEntry> candidates = vars;
+
+				if (varIndex != null) { // only entries with the same lvIndex can match, the others only determine hasMissing
+					candidates = varIndex.byLvIndex.getOrDefault(lvIndex, Collections.emptyList());
 
-				for (MethodVarEntry entry : vars) {
+					for (MethodVarEntry entry : varIndex.byLvIndex.getOrDefault(-1, Collections.emptyList())) {
+						if (lvtRowIndex < 0 || entry.lvtRowIndex < 0 || lvtRowIndex == entry.lvtRowIndex) {
+							if (srcName == null || entry.srcName == null || srcName.equals(entry.srcName)) {
+								hasMissing = true;
+								break;
+							}
+						}
+					}
+				}
+
+				for (MethodVarEntry entry : candidates) {
 					// skip otherwise mismatched candidates
 					if (lvtRowIndex >= 0 && entry.lvtRowIndex >= 0 && lvtRowIndex != entry.lvtRowIndex // different lvtRowIndex
 							|| srcName != null && entry.srcName != null && !srcName.equals(entry.srcName)) { // different srcName
@@ -1408,7 +2070,13 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			}
 
 			if (srcName != null) {
-				for (MethodVarEntry entry : vars) {
+				Collection<MethodVarEntry> candidates = vars;
+
+				if (varIndex != null && lvIndex >= 0) { // only entries without lvIndex can match
+					candidates = varIndex.byLvIndex.getOrDefault(-1, Collections.emptyList());
+				}
+
+				for (MethodVarEntry entry : candidates) {
 					if (srcName.equals(entry.srcName)
 							&& (lvtRowIndex < 0 || entry.lvtRowIndex < 0)
 							&& (lvIndex < 0 || entry.lvIndex < 0)) {
@@ -1426,8 +2094,7 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			MethodVarEntry prev = getVar(var.getLvtRowIndex(), var.getLvIndex(), var.getStartOpIdx(), var.getEndOpIdx(), var.getSrcName());
 
 			if (prev == null) {
-				if (vars == null) vars = new ArrayList<>();
-				vars.add(entry);
+				appendVar(entry);
 			} else {
 				updateVar(prev, entry, false);
 			}
@@ -1435,6 +2102,26 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			return entry;
 		}
 
+		/**
+		 * Add a var already known to be missing.
+		 */
+		private void appendVar(MethodVarEntry entry) {
+			if (vars == null) vars = new ArrayList<>();
+			vars.add(entry);
+			entry.seq = nextVarSeq++;
+			tree.modCount++;
+
+			if (varIndex != null) {
+				varIndex.add(entry);
+			} else if (vars.size() > VAR_INDEX_THRESHOLD) {
+				varIndex = new VarIndex();
+
+				for (MethodVarEntry existing : vars) {
+					varIndex.add(existing);
+				}
+			}
+		}
+
 		private void updateVar(MethodVarEntry existing, MethodVarEntry toAdd, boolean replace) {
 			if (toAdd.lvtRowIndex >= 0 && existing.lvtRowIndex < 0) existing.setLvtRowIndex(toAdd.lvtRowIndex);
 
@@ -1449,29 +2136,34 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		@Nullable
 		public MethodVarEntry removeVar(int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName) {
 			MethodVarEntry ret = getVar(lvtRowIndex, lvIndex, startOpIdx, endOpIdx, srcName);
-			if (ret != null) vars.remove(ret);
+
+			if (ret != null) {
+				vars.remove(ret);
+				if (varIndex != null) varIndex.remove(ret);
+				tree.modCount++;
+			}
 
 			return ret;
 		}
 
-		void accept(MappingVisitor visitor, VisitOrder order, boolean supplyDstDescs) throws IOException {
+		void accept(MappingVisitor visitor, SortCache sortCache, boolean supplyDstDescs) throws IOException {
 			if (visitor.visitMethod(srcName, srcDesc) && acceptMember(visitor, supplyDstDescs)) {
-				boolean varsFirst = order.isMethodVarsFirst() && args != null && vars != null;
+				boolean varsFirst = sortCache.methodVarsFirst && args != null && vars != null;
 
 				if (!varsFirst && args != null) {
-					for (MethodArgEntry arg : order.sortMethodArgs(args)) {
+					for (MethodArgEntry arg : sortCache.sortMethodArgs(this, args)) {
 						arg.accept(visitor);
 					}
 				}
 
 				if (vars != null) {
-					for (MethodVarEntry var : order.sortMethodVars(vars)) {
+					for (MethodVarEntry var : sortCache.sortMethodVars(this, vars)) {
 						var.accept(visitor);
 					}
 				}
 
 				if (varsFirst) {
-					for (MethodArgEntry arg : order.sortMethodArgs(args)) {
+					for (MethodArgEntry arg : sortCache.sortMethodArgs(this, args)) {
 						arg.accept(visitor);
 					}
 				}
@@ -1483,11 +2175,13 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			super.copyFrom(o, replace);
 
 			if (o.args != null) {
+				boolean bulk = args == null; // nothing to match against, o's args are already distinct
+
 				for (MethodArgEntry oArg : o.args) {
-					MethodArgEntry arg = getArg(oArg.argPosition, oArg.lvIndex, oArg.srcName);
+					MethodArgEntry arg = bulk ? null : getArg(oArg.argPosition, oArg.lvIndex, oArg.srcName);
 
 					if (arg == null) { // missing
-						addArg(oArg);
+						appendArg(new MethodArgEntry(this, oArg, tree.getSrcNsEquivalent(oArg)));
 					} else {
 						updateArg(arg, oArg, replace);
 					}
@@ -1495,11 +2189,13 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			}
 
 			if (o.vars != null) {
+				boolean bulk = vars == null;
+
 				for (MethodVarEntry oVar : o.vars) {
-					MethodVarEntry var = getVar(oVar.lvtRowIndex, oVar.lvIndex, oVar.startOpIdx, oVar.endOpIdx, oVar.srcName);
+					MethodVarEntry var = bulk ? null : getVar(oVar.lvtRowIndex, oVar.lvIndex, oVar.startOpIdx, oVar.endOpIdx, oVar.srcName);
 
 					if (var == null) { // missing
-						addVar(oVar);
+						appendVar(new MethodVarEntry(this, oVar, tree.getSrcNsEquivalent(oVar)));
 					} else {
 						updateVar(var, oVar, replace);
 					}
@@ -1512,8 +2208,138 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 			return String.format("%s%s", srcName, srcDesc);
 		}
 
+		private static final int VAR_INDEX_THRESHOLD = 16;
+
 		private List<MethodArgEntry> args = null;
+		/**
+		 * Lookup index for {@link #args}, dropped if the args can't be represented by it.
+		 */
+		@Nullable
+		private ArgIndex argIndex;
+		private int nextArgSeq;
 		private List<MethodVarEntry> vars = null;
+		/**
+		 * Lookup index for {@link #vars}, only present for methods with many vars.
+		 */
+		@Nullable
+		private VarIndex varIndex;
+		private int nextVarSeq;
+	}
+
+	/**
+	 * Method args in dense arrays indexed by arg position and lv index.
+	 *
+	 * <p>Only usable while no two args share a position or lv index and the indices are reasonably small, which holds
+	 * for regular parameter mappings. Args missing an index are counted for the name based lookup fallback.
+	 */
+	static final class ArgIndex {
+		@Nullable
+		MethodArgEntry get(int argPosition, int lvIndex, @Nullable String srcName) {
+			MethodArgEntry byPosition = get(argsByPosition, argPosition, srcName);
+			MethodArgEntry byLvIndex = get(argsByLvIndex, lvIndex, srcName);
+
+			if (byPosition == null) return byLvIndex;
+			if (byLvIndex == null) return byPosition;
+
+			return byPosition.seq <= byLvIndex.seq ? byPosition : byLvIndex; // first one in list order
+		}
+
+		@Nullable
+		private static MethodArgEntry get(MethodArgEntry[] array, int index, @Nullable String srcName) {
+			if (index < 0 || index >= array.length) return null;
+
+			MethodArgEntry ret = array[index];
+			if (ret == null || srcName != null && ret.srcName != null && !srcName.equals(ret.srcName)) return null;
+
+			return ret;
+		}
+
+		/**
+		 * @return Whether the arg could be added, otherwise the index has to be discarded.
+		 */
+		boolean add(MethodArgEntry arg) {
+			if (arg.argPosition < 0 || arg.lvIndex < 0) incompleteArgs++;
+
+			if (arg.argPosition >= 0) {
+				argsByPosition = add(argsByPosition, arg.argPosition, arg);
+				if (argsByPosition == null) return false;
+			}
+
+			if (arg.lvIndex >= 0) {
+				argsByLvIndex = add(argsByLvIndex, arg.lvIndex, arg);
+				if (argsByLvIndex == null) return false;
+			}
+
+			return true;
+		}
+
+		@Nullable
+		private static MethodArgEntry[] add(MethodArgEntry[] array, int index, MethodArgEntry arg) {
+			if (index >= MAX_INDEX) return null;
+
+			if (index >= array.length) {
+				array = Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+			} else if (array[index] != null) {
+				return null;
+			}
+
+			array[index] = arg;
+
+			return array;
+		}
+
+		void remove(MethodArgEntry arg) {
+			if (arg.argPosition < 0 || arg.lvIndex < 0) incompleteArgs--;
+			if (arg.argPosition >= 0 && arg.argPosition < argsByPosition.length && argsByPosition[arg.argPosition] == arg) argsByPosition[arg.argPosition] = null;
+			if (arg.lvIndex >= 0 && arg.lvIndex < argsByLvIndex.length && argsByLvIndex[arg.lvIndex] == arg) argsByLvIndex[arg.lvIndex] = null;
+		}
+
+		private static final int MAX_INDEX = 256; // max method descriptor slot count
+		private static final MethodArgEntry[] EMPTY = new MethodArgEntry[0];
+
+		private MethodArgEntry[] argsByPosition = EMPTY;
+		private MethodArgEntry[] argsByLvIndex = EMPTY;
+		int incompleteArgs;
+	}
+
+	/**
+	 * Method vars bucketed by lvt row index and lv index, with -1 for missing values.
+	 *
+	 * <p>The buckets keep the order of the method's var list, so lookups find the same entries as a linear scan.
+	 */
+	static final class VarIndex {
+		void add(MethodVarEntry var) {
+			add(byLvtRowIndex, var.lvtRowIndex, var);
+			add(byLvIndex, var.lvIndex, var);
+		}
+
+		void remove(MethodVarEntry var) {
+			remove(byLvtRowIndex, var.lvtRowIndex, var);
+			remove(byLvIndex, var.lvIndex, var);
+		}
+
+		private static void add(Map<Integer, List<MethodVarEntry>> map, int key, MethodVarEntry var) {
+			List<MethodVarEntry> bucket = map.computeIfAbsent(Math.max(key, -1), k -> new ArrayList<>(1));
+			int pos = bucket.size();
+
+			while (pos > 0 && bucket.get(pos - 1).seq > var.seq) { // usually appended, otherwise restore the list order
+				pos--;
+			}
+
+			bucket.add(pos, var);
+		}
+
+		private static void remove(Map<Integer, List<MethodVarEntry>> map, int key, MethodVarEntry var) {
+			key = Math.max(key, -1);
+			List<MethodVarEntry> bucket = map.get(key);
+			if (bucket == null) return;
+
+			bucket.remove(var);
+			if (bucket.isEmpty()) map.remove(key);
+		}
+
+		final Map<Integer, List<MethodVarEntry>> byLvtRowIndex = new HashMap<>();
+		final Map<Integer, List<MethodVarEntry>> byLvIndex = new HashMap<>();
 	}
 
 	static final class MethodArgEntry extends Entry<MethodArgEntry> implements MethodArgMapping {
@@ -1555,7 +2381,10 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 		@Override
 		public void setArgPosition(int position) {
+			boolean indexed = removeFromIndex();
 			this.argPosition = position;
+			tree.modCount++;
+			if (indexed) addToIndex();
 		}
 
 		@Override
@@ -1565,11 +2394,32 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 		@Override
 		public void setLvIndex(int index) {
+			boolean indexed = removeFromIndex();
 			this.lvIndex = index;
+			tree.modCount++;
+			if (indexed) addToIndex();
+		}
+
+		/**
+		 * Remove this entry from the owning method's arg index if it's part of it.
+		 *
+		 * @return Whether the entry has to be re-added.
+		 */
+		private boolean removeFromIndex() {
+			if (method.argIndex == null || !method.args.contains(this)) return false;
+
+			method.argIndex.remove(this);
+
+			return true;
+		}
+
+		private void addToIndex() {
+			if (method.argIndex != null && !method.argIndex.add(this)) method.argIndex = null;
 		}
 
 		public void setSrcName(@Nullable String name) {
 			this.srcName = name;
+			tree.modCount++;
 		}
 
 		void accept(MappingVisitor visitor) throws IOException {
@@ -1593,6 +2443,10 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 
 		private final MethodEntry method;
+		/**
+		 * Position within the owning method's arg list, for resolving {@link ArgIndex} lookups in list order.
+		 */
+		private int seq;
 		private int argPosition;
 		private int lvIndex;
 	}
@@ -1640,7 +2494,13 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 		@Override
 		public void setLvtRowIndex(int index) {
+			VarIndex varIndex = getVarIndex();
+			if (varIndex != null) varIndex.remove(this);
+
 			this.lvtRowIndex = index;
+			tree.modCount++;
+
+			if (varIndex != null) varIndex.add(this);
 		}
 
 		@Override
@@ -1660,13 +2520,33 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 
 		@Override
 		public void setLvIndex(int lvIndex, int startOpIdx, int endOpIdx) {
+			VarIndex varIndex = getVarIndex();
+			if (varIndex != null) varIndex.remove(this);
+
 			this.lvIndex = lvIndex;
 			this.startOpIdx = startOpIdx;
 			this.endOpIdx = endOpIdx;
+			tree.modCount++;
+
+			if (varIndex != null) varIndex.add(this);
+		}
+
+		/**
+		 * Get the owning method's var index if this entry is part of it.
+		 */
+		@Nullable
+		private VarIndex getVarIndex() {
+			VarIndex ret = method.varIndex;
+			if (ret == null) return null;
+
+			List<MethodVarEntry> bucket = ret.byLvIndex.get(Math.max(lvIndex, -1));
+
+			return bucket != null && bucket.contains(this) ? ret : null;
 		}
 
 		public void setSrcName(@Nullable String name) {
 			this.srcName = name;
+			tree.modCount++;
 		}
 
 		void accept(MappingVisitor visitor) throws IOException {
@@ -1690,6 +2570,10 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		}
 
 		private final MethodEntry method;
+		/**
+		 * Position within the owning method's var list, for keeping the {@link VarIndex} buckets ordered.
+		 */
+		private int seq;
 		private int lvtRowIndex;
 		private int lvIndex;
 		private int startOpIdx;
@@ -1812,6 +2696,158 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 		private final boolean isField;
 	}
 
+	/**
+	 * Snapshot of a {@link VisitOrder}'s configuration, equal for orders using the same comparator instances and flags.
+	 */
+	static final class SortKey {
+		SortKey(VisitOrder order) {
+			this.classComparator = order.getClassComparator();
+			this.fieldComparator = order.getFieldComparator();
+			this.methodComparator = order.getMethodComparator();
+			this.methodArgComparator = order.getMethodArgComparator();
+			this.methodVarComparator = order.getMethodVarComparator();
+			this.methodsFirst = order.isMethodsFirst();
+			this.methodVarsFirst = order.isMethodVarsFirst();
+		}
+
+		boolean isInputOrder() {
+			return classComparator == null
+					&& fieldComparator == null
+					&& methodComparator == null
+					&& methodArgComparator == null
+					&& methodVarComparator == null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof SortKey)) return false;
+
+			SortKey o = (SortKey) obj;
+
+			return classComparator == o.classComparator
+					&& fieldComparator == o.fieldComparator
+					&& methodComparator == o.methodComparator
+					&& methodArgComparator == o.methodArgComparator
+					&& methodVarComparator == o.methodVarComparator
+					&& methodsFirst == o.methodsFirst
+					&& methodVarsFirst == o.methodVarsFirst;
+		}
+
+		@Override
+		public int hashCode() {
+			int ret = System.identityHashCode(classComparator);
+			ret = 31 * ret + System.identityHashCode(fieldComparator);
+			ret = 31 * ret + System.identityHashCode(methodComparator);
+			ret = 31 * ret + System.identityHashCode(methodArgComparator);
+			ret = 31 * ret + System.identityHashCode(methodVarComparator);
+
+			return 4 * ret + (methodsFirst ? 2 : 0) + (methodVarsFirst ? 1 : 0);
+		}
+
+		final Comparator<ClassMappingView> classComparator;
+		final Comparator<FieldMappingView> fieldComparator;
+		final Comparator<MethodMappingView> methodComparator;
+		final Comparator<MethodArgMappingView> methodArgComparator;
+		final Comparator<MethodVarMappingView> methodVarComparator;
+		final boolean methodsFirst;
+		final boolean methodVarsFirst;
+	}
+
+	/**
+	 * Sorted element orders for one {@link SortKey}, filled lazily while accepting visitors.
+	 *
+	 * <p>Safe for concurrent use, racing threads may compute the same order redundantly.
+	 */
+	static final class SortCache {
+		SortCache(SortKey key) {
+			this.classComparator = key.classComparator;
+			this.fieldComparator = key.fieldComparator;
+			this.methodComparator = key.methodComparator;
+			this.methodArgComparator = key.methodArgComparator;
+			this.methodVarComparator = key.methodVarComparator;
+			this.methodsFirst = key.methodsFirst;
+			this.methodVarsFirst = key.methodVarsFirst;
+		}
+
+		Collection<ClassEntry> sortClasses(Collection<ClassEntry> classes) {
+			Comparator<ClassMappingView> comparator = classComparator;
+			if (comparator == null || classes.size() < 2) return classes;
+
+			List<ClassEntry> ret = this.classes;
+
+			if (ret == null || ret.size() != classes.size()) {
+				ClassEntry[] sorted = classes.toArray(new ClassEntry[0]);
+				Arrays.parallelSort(sorted, comparator); // stable like List.sort
+				this.classes = ret = Arrays.asList(sorted);
+			}
+
+			return ret;
+		}
+
+		Collection<FieldEntry> sortFields(ClassEntry owner, Collection<FieldEntry> fields) {
+			return sort(owner, fields, fieldComparator, this.fields);
+		}
+
+		Collection<MethodEntry> sortMethods(ClassEntry owner, Collection<MethodEntry> methods) {
+			return sort(owner, methods, methodComparator, this.methods);
+		}
+
+		Collection<MethodArgEntry> sortMethodArgs(MethodEntry owner, Collection<MethodArgEntry> args) {
+			return sort(owner, args, methodArgComparator, this.args);
+		}
+
+		Collection<MethodVarEntry> sortMethodVars(MethodEntry owner, Collection<MethodVarEntry> vars) {
+			return sort(owner, vars, methodVarComparator, this.vars);
+		}
+
+		void addFootprint(MemoryFootprint footprint) {
+			footprint.addObject(MemoryFootprint.Category.INDEXES, 10, 2);
+			List<ClassEntry> classes = this.classes;
+
+			if (classes != null) {
+				footprint.addObject(MemoryFootprint.Category.INDEXES, 1, 0); // Arrays.asList wrapper
+				footprint.addRefArray(MemoryFootprint.Category.INDEXES, classes.size());
+			}
+
+
+			for (Map<?, ? extends List<?>> map : Arrays.asList(fields, methods, args, vars)) {
+				footprint.addHashMap(MemoryFootprint.Category.INDEXES, map.size(), false);
+
+				for (List<?> list : map.values()) {
+					footprint.addList(MemoryFootprint.Category.INDEXES, list.size());
+				}
+			}
+		}
+
+		private static <K, T> Collection<T> sort(K owner, Collection<T> inputs, @Nullable Comparator<? super T> comparator, Map<K, List<T>> cache) {
+			if (comparator == null || inputs.size() < 2) return inputs;
+
+			List<T> ret = cache.get(owner);
+
+			if (ret == null || ret.size() != inputs.size()) {
+				ret = new ArrayList<>(inputs);
+				ret.sort(comparator);
+				cache.put(owner, ret);
+			}
+
+			return ret;
+		}
+
+		private final Comparator<ClassMappingView> classComparator;
+		private final Comparator<FieldMappingView> fieldComparator;
+		private final Comparator<MethodMappingView> methodComparator;
+		private final Comparator<MethodArgMappingView> methodArgComparator;
+		private final Comparator<MethodVarMappingView> methodVarComparator;
+		final boolean methodsFirst;
+		final boolean methodVarsFirst;
+		private volatile List<ClassEntry> classes;
+		private final Map<ClassEntry, List<FieldEntry>> fields = new ConcurrentHashMap<>();
+		private final Map<ClassEntry, List<MethodEntry>> methods = new ConcurrentHashMap<>();
+		private final Map<MethodEntry, List<MethodArgEntry>> args = new ConcurrentHashMap<>();
+		private final Map<MethodEntry, List<MethodVarEntry>> vars = new ConcurrentHashMap<>();
+	}
+
 	private boolean indexByDstNames;
 	private String srcNamespace;
 	private List<String> dstNamespaces = Collections.emptyList();
@@ -1827,4 +2863,18 @@ public final class MemoryMappingTree implements VisitableMappingTree {
 	private ClassEntry currentClass;
 	private MethodEntry currentMethod;
 	private Map<GlobalMemberKey, MemberEntry<?>> pendingMembers;
+
+	/**
+	 * Counter incremented with every change that may affect the visitation order, for invalidating {@link #sortCaches}.
+	 */
+	private int modCount;
+	private int sortCachesModCount;
+	@SuppressWarnings("serial")
+	final Map<SortKey, SortCache> sortCaches = new LinkedHashMap<SortKey, SortCache>(MAX_SORT_CACHES * 2, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<SortKey, SortCache> eldest) {
+			return size() > MAX_SORT_CACHES;
+		}
+	};
+	static final int MAX_SORT_CACHES = 4;
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.adapter.ForwardingMappingVisitor;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.Utf8FileWriter;
+
+/**
+ * Writes a {@link MappingTreeView} to a single file mapping format, serializing classes concurrently.
+ *
+ * <p>The classes, in visitation order, are split into contiguous ranges. Each range is written to its own buffer
+ * by a separate writer instance, and the buffers are concatenated in order afterwards, which produces the same
+ * output as a sequential {@link MappingTreeView#accept} into a single writer. This only works for formats whose
+ * classes are written independently of each other, see {@link #supports(MappingFormat)}.
+ *
+ * <p>The tree must not be modified while writing.
+ */
+@ApiStatus.Experimental
+public final class ParallelTreeWriter {
+	private ParallelTreeWriter() {
+	}
+
+	public static boolean supports(MappingFormat format) {
+		switch (format) {
+		case TINY_2_FILE:
+		case SRG_FILE:
+		case XSRG_FILE:
+		case CSRG_FILE:
+		case TSRG_FILE:
+		case TSRG_2_FILE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Write the tree to a file using the {@linkplain ForkJoinPool#commonPool() common pool}.
+	 */
+	public static void write(MappingTreeView tree, Path file, MappingFormat format, VisitOrder order) throws IOException {
+		try (Writer writer = Utf8FileWriter.open(file)) {
+			write(tree, writer, format, order, ForkJoinPool.commonPool());
+		}
+	}
+
+	/**
+	 * Write the tree to the supplied writer, which is flushed but not closed.
+	 */
+	public static void write(MappingTreeView tree, Writer writer, MappingFormat format, VisitOrder order, ForkJoinPool pool) throws IOException {
+		if (!supports(format)) throw new IllegalArgumentException("format "+format+" doesn't support parallel writing");
+
+		int classCount = tree.getClasses().size();
+		int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, classCount / MIN_CHUNK_SIZE));
+		List<ForkJoinTask<String>> tasks = new ArrayList<>(chunkCount);
+
+		for (int i = 0; i < chunkCount; i++) {
+			int start = (int) ((long) classCount * i / chunkCount);
+			int end = (int) ((long) classCount * (i + 1) / chunkCount);
+			boolean first = i == 0;
+
+			tasks.add(pool.submit(() -> writeChunk(tree, format, order, start, end, first)));
+		}
+
+		try {
+			for (ForkJoinTask<String> task : tasks) {
+				writer.write(task.join());
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			for (ForkJoinTask<String> task : tasks) {
+				task.cancel(false);
+			}
+		}
+
+		writer.flush();
+	}
+
+	private static String writeChunk(MappingTreeView tree, MappingFormat format, VisitOrder order, int start, int end, boolean includeHeader) {
+		StringWriter out = new StringWriter();
+
+		try {
+			ChunkVisitor visitor = new ChunkVisitor(MappingWriter.create(out, format), out, start, end);
+			tree.accept(visitor, order);
+
+			if (includeHeader) {
+				return out.toString();
+			} else if (visitor.contentStart < 0) {
+				return "";
+			} else {
+				return out.getBuffer().substring(visitor.contentStart);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Forwards only the classes within a visitation index range and tracks where the first of them starts in the output.
+	 */
+	private static final class ChunkVisitor extends ForwardingMappingVisitor {
+		ChunkVisitor(MappingWriter next, StringWriter out, int start, int end) {
+			super(next);
+
+			this.out = out;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean visitHeader() throws IOException {
+			classIdx = 0;
+
+			return super.visitHeader();
+		}
+
+		@Override
+		public boolean visitClass(String srcName) throws IOException {
+			int idx = classIdx++;
+			if (idx < start || idx >= end) return false;
+
+			if (contentStart < 0) contentStart = out.getBuffer().length();
+
+			return super.visitClass(srcName);
+		}
+
+		private final StringWriter out;
+		private final int start;
+		private final int end;
+		private int classIdx;
+		int contentStart = -1;
+	}
+
+	private static final int MIN_CHUNK_SIZE = 512;
+}
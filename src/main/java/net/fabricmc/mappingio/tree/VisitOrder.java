@@ -89,11 +89,11 @@ public final class VisitOrder {
 	}
 
 	public VisitOrder methodArgsByPosition() {
-		return methodArgComparator(Comparator.comparingInt(MethodArgMappingView::getArgPosition));
+		return methodArgComparator(ARGS_BY_POSITION);
 	}
 
 	public VisitOrder methodArgsByLvIndex() {
-		return methodArgComparator(Comparator.comparingInt(MethodArgMappingView::getLvIndex));
+		return methodArgComparator(ARGS_BY_LV_INDEX);
 	}
 
 	public VisitOrder methodVarComparator(Comparator<MethodVarMappingView> comparator) {
@@ -103,11 +103,11 @@ public final class VisitOrder {
 	}
 
 	public VisitOrder methodVarsByLvtRowIndex() {
-		return methodVarComparator(Comparator.comparingInt(MethodVarMappingView::getLvIndex).thenComparingInt(MethodVarMappingView::getLvtRowIndex));
+		return methodVarComparator(VARS_BY_LVT_ROW_INDEX);
 	}
 
 	public VisitOrder methodVarsByLvIndex() {
-		return methodVarComparator(Comparator.comparingInt(MethodVarMappingView::getLvIndex).thenComparingInt(MethodVarMappingView::getStartOpIdx));
+		return methodVarComparator(VARS_BY_LV_INDEX);
 	}
 
 	public VisitOrder methodsFirst(boolean methodsFirst) {
@@ -140,20 +140,20 @@ public final class VisitOrder {
 
 	// customization helpers
 
+	// the comparators are shared instances, letting MemoryMappingTree reuse sort results across equally configured orders
+
+	@SuppressWarnings("unchecked")
 	public static <T extends ElementMappingView> Comparator<T> compareBySrcName() {
-		return (a, b) -> compare(a.getSrcName(), b.getSrcName());
+		return (Comparator<T>) BY_SRC_NAME;
 	}
 
+	@SuppressWarnings("unchecked")
 	public static <T extends MemberMappingView> Comparator<T> compareBySrcNameDesc() {
-		return (a, b) -> {
-			int cmp = compare(a.getSrcName(), b.getSrcName());
-
-			return cmp != 0 ? cmp : compare(a.getSrcDesc(), b.getSrcDesc());
-		};
+		return (Comparator<T>) BY_SRC_NAME_DESC;
 	}
 
 	public static Comparator<ElementMappingView> compareBySrcNameShortFirst() {
-		return (a, b) -> compareShortFirst(a.getSrcName(), b.getSrcName());
+		return BY_SRC_NAME_SHORT_FIRST;
 	}
 
 	public static int compare(@Nullable String a, @Nullable String b) {
@@ -258,6 +258,31 @@ public final class VisitOrder {
 		return ret;
 	}
 
+	@Nullable
+	Comparator<ClassMappingView> getClassComparator() {
+		return classComparator;
+	}
+
+	@Nullable
+	Comparator<FieldMappingView> getFieldComparator() {
+		return fieldComparator;
+	}
+
+	@Nullable
+	Comparator<MethodMappingView> getMethodComparator() {
+		return methodComparator;
+	}
+
+	@Nullable
+	Comparator<MethodArgMappingView> getMethodArgComparator() {
+		return methodArgComparator;
+	}
+
+	@Nullable
+	Comparator<MethodVarMappingView> getMethodVarComparator() {
+		return methodVarComparator;
+	}
+
 	public boolean isMethodsFirst() {
 		return methodsFirst;
 	}
@@ -273,4 +298,16 @@ public final class VisitOrder {
 	private Comparator<MethodVarMappingView> methodVarComparator;
 	private boolean methodsFirst;
 	private boolean methodVarsFirst;
+
+	private static final Comparator<ElementMappingView> BY_SRC_NAME = (a, b) -> compare(a.getSrcName(), b.getSrcName());
+	private static final Comparator<MemberMappingView> BY_SRC_NAME_DESC = (a, b) -> {
+		int cmp = compare(a.getSrcName(), b.getSrcName());
+
+		return cmp != 0 ? cmp : compare(a.getSrcDesc(), b.getSrcDesc());
+	};
+	private static final Comparator<ElementMappingView> BY_SRC_NAME_SHORT_FIRST = (a, b) -> compareShortFirst(a.getSrcName(), b.getSrcName());
+	private static final Comparator<MethodArgMappingView> ARGS_BY_POSITION = Comparator.comparingInt(MethodArgMappingView::getArgPosition);
+	private static final Comparator<MethodArgMappingView> ARGS_BY_LV_INDEX = Comparator.comparingInt(MethodArgMappingView::getLvIndex);
+	private static final Comparator<MethodVarMappingView> VARS_BY_LVT_ROW_INDEX = Comparator.comparingInt(MethodVarMappingView::getLvIndex).thenComparingInt(MethodVarMappingView::getLvtRowIndex);
+	private static final Comparator<MethodVarMappingView> VARS_BY_LV_INDEX = Comparator.comparingInt(MethodVarMappingView::getLvIndex).thenComparingInt(MethodVarMappingView::getStartOpIdx);
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.FlatMappingVisitor;
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingFlag;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class FlatAsRegularMappingVisitorTest {
+	@Test
+	public void reusesArrays() throws IOException {
+		MemoryMappingTree tree = createTree();
+		RecordingVisitor visitor = new RecordingVisitor(MappingFlag.NONE);
+		tree.accept(visitor.asRegularVisitor());
+
+		assertEquals(Arrays.asList("a", "a.f", "b", "b.f"), visitor.elements);
+		assertSame(visitor.dstNames.get(0), visitor.dstNames.get(2));
+		assertSame(visitor.dstNames.get(1), visitor.dstNames.get(3));
+		assertArrayEquals(new String[] { "f2" }, visitor.dstNames.get(3));
+		assertNull(visitor.dstClsNames);
+		assertNull(visitor.dstDescs);
+	}
+
+	@Test
+	public void suppliesRequestedContext() throws IOException {
+		MemoryMappingTree tree = createTree();
+		RecordingVisitor visitor = new RecordingVisitor(EnumSet.of(MappingFlag.NEEDS_ELEMENT_UNIQUENESS, MappingFlag.NEEDS_DST_FIELD_DESC));
+		tree.accept(visitor.asRegularVisitor());
+
+		assertArrayEquals(new String[] { "b2" }, visitor.dstClsNames);
+		assertArrayEquals(new String[] { "La2;" }, visitor.dstDescs);
+	}
+
+	private static MemoryMappingTree createTree() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Arrays.asList("target"));
+		tree.visitClass("a");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "a2");
+		tree.visitField("f", "La;");
+		tree.visitDstName(MappedElementKind.FIELD, 0, "f1");
+		tree.visitClass("b");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "b2");
+		tree.visitField("f", "La;");
+		tree.visitDstName(MappedElementKind.FIELD, 0, "f2");
+
+		return tree;
+	}
+
+	private static class RecordingVisitor implements FlatMappingVisitor {
+		RecordingVisitor(Set<MappingFlag> flags) {
+			this.flags = flags;
+		}
+
+		@Override
+		public Set<MappingFlag> getFlags() {
+			return flags;
+		}
+
+		@Override
+		public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) { }
+
+		@Override
+		public boolean visitClass(String srcName, @Nullable String[] dstNames) {
+			elements.add(srcName);
+			this.dstNames.add(dstNames);
+
+			return true;
+		}
+
+		@Override
+		public void visitClassComment(String srcName, @Nullable String[] dstNames, String comment) { }
+
+		@Override
+		public boolean visitField(String srcClsName, String srcName, @Nullable String srcDesc,
+				@Nullable String[] dstClsNames, @Nullable String[] dstNames, @Nullable String[] dstDescs) {
+			elements.add(srcClsName+"."+srcName);
+			this.dstNames.add(dstNames);
+			this.dstClsNames = dstClsNames;
+			this.dstDescs = dstDescs;
+
+			return true;
+		}
+
+		@Override
+		public void visitFieldComment(String srcClsName, String srcName, @Nullable String srcDesc,
+				@Nullable String[] dstClsNames, @Nullable String[] dstNames, @Nullable String[] dstDescs, String comment) { }
+
+		@Override
+		public boolean visitMethod(String srcClsName, String srcName, @Nullable String srcDesc,
+				@Nullable String[] dstClsNames, @Nullable String[] dstNames, @Nullable String[] dstDescs) {
+			return true;
+		}
+
+		@Override
+		public void visitMethodComment(String srcClsName, String srcName, @Nullable String srcDesc,
+				@Nullable String[] dstClsNames, @Nullable String[] dstNames, @Nullable String[] dstDescs, String comment) { }
+
+		@Override
+		public boolean visitMethodArg(String srcClsName, String srcMethodName, @Nullable String srcMethodDesc,
+				int argPosition, int lvIndex, @Nullable String srcName,
+				@Nullable String[] dstClsNames, @Nullable String[] dstMethodNames, @Nullable String[] dstMethodDescs, String[] dstNames) {
+			return true;
+		}
+
+		@Override
+		public void visitMethodArgComment(String srcClsName, String srcMethodName, @Nullable String srcMethodDesc,
+				int argPosition, int lvIndex, @Nullable String srcName,
+				@Nullable String[] dstClsNames, @Nullable String[] dstMethodNames, @Nullable String[] dstMethodDescs, @Nullable String[] dstNames,
+				String comment) { }
+
+		@Override
+		public boolean visitMethodVar(String srcClsName, String srcMethodName, @Nullable String srcMethodDesc,
+				int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName,
+				@Nullable String[] dstClsNames, @Nullable String[] dstMethodNames, @Nullable String[] dstMethodDescs, String[] dstNames) {
+			return true;
+		}
+
+		@Override
+		public void visitMethodVarComment(String srcClsName, String srcMethodName, @Nullable String srcMethodDesc,
+				int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName,
+				@Nullable String[] dstClsNames, @Nullable String[] dstMethodNames, @Nullable String[] dstMethodDescs, @Nullable String[] dstNames,
+				String comment) { }
+
+		private final Set<MappingFlag> flags;
+		final List<String> elements = new ArrayList<>();
+		final List<String[]> dstNames = new ArrayList<>();
+		String[] dstClsNames;
+		String[] dstDescs;
+	}
+}
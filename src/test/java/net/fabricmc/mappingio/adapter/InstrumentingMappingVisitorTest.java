@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingUtil;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class InstrumentingMappingVisitorTest {
+	@Test
+	public void passes() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		List<InstrumentingMappingVisitor.PassMetrics> passes = new ArrayList<>();
+		MemoryMappingTree target = new MemoryMappingTree();
+
+		// the namespace switch requests a second pass
+		tree.accept(new InstrumentingMappingVisitor(new MappingSourceNsSwitch(target, MappingUtil.NS_TARGET_FALLBACK), passes::add));
+
+		assertEquals(2, passes.size());
+		assertTrue(passes.get(0).isRestartRequested());
+		assertFalse(passes.get(1).isRestartRequested());
+
+		int fields = 0;
+		int methods = 0;
+
+		for (MappingTree.ClassMapping cls : tree.getClasses()) {
+			fields += cls.getFields().size();
+			methods += cls.getMethods().size();
+		}
+
+		for (int i = 0; i < passes.size(); i++) {
+			InstrumentingMappingVisitor.PassMetrics metrics = passes.get(i);
+			assertEquals(i, metrics.getPass());
+			assertEquals(tree.getClasses().size(), metrics.getElementCount(MappedElementKind.CLASS));
+			assertTrue(metrics.getDownstreamNanos() > 0);
+			assertTrue(metrics.getTotalNanos() >= metrics.getDownstreamNanos());
+		}
+
+		// the first pass only collects the class names, skipping the members
+		assertEquals(0, passes.get(0).getElementCount(MappedElementKind.FIELD));
+		assertEquals(fields, passes.get(1).getElementCount(MappedElementKind.FIELD));
+		assertEquals(methods, passes.get(1).getElementCount(MappedElementKind.METHOD));
+
+		passes.clear();
+		tree.accept(new InstrumentingMappingVisitor(new MemoryMappingTree(), passes::add, false));
+		assertEquals(1, passes.size());
+		assertEquals(0, passes.get(0).getTotalNanos());
+		assertEquals(tree.getClasses().size(), passes.get(0).getElementCount(MappedElementKind.CLASS));
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappingUtil;
+import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class MappingPipelineTest {
+	private static final String SRC = MappingUtil.NS_SOURCE_FALLBACK;
+	private static final String DST = MappingUtil.NS_TARGET_FALLBACK;
+	private static final String DST2 = MappingUtil.NS_TARGET_FALLBACK + "2";
+
+	@Test
+	public void matchesChain() throws IOException {
+		Map<String, String> renames = new HashMap<>();
+		renames.put(SRC, "official");
+		renames.put(DST, "named");
+
+		Map<String, String> alternatives = new HashMap<>();
+		alternatives.put("named", DST2);
+		alternatives.put(DST2, "official");
+		alternatives.put("extra", "named");
+
+		assertEquivalent(next -> new MappingNsRenamer(new MappingDstNsReorder(new MappingNsCompleter(new MissingDescFilter(next), alternatives, true), DST2, "named", "missing"), renames),
+				new MappingPipeline().renameNamespaces(renames).reorderDstNamespaces(DST2, "named", "missing").completeNamespaces(alternatives, true).filterMissingDescs());
+
+		Map<String, String> alternatives2 = new HashMap<>();
+		alternatives2.put(DST, DST2);
+		alternatives2.put(DST2, SRC);
+
+		assertEquivalent(next -> new MappingNsCompleter(new MappingDstNsReorder(next, DST2, DST, DST, "missing"), alternatives2),
+				new MappingPipeline().completeNamespaces(alternatives2).reorderDstNamespaces(DST2, DST, DST, "missing"));
+
+		assertEquivalent(next -> new MappingDstNsReorder(new MappingNsRenamer(next, renames), DST2, DST),
+				new MappingPipeline().reorderDstNamespaces(DST2, DST).renameNamespaces(renames));
+	}
+
+	private static void assertEquivalent(UnaryOperator<MappingVisitor> chain, MappingPipeline pipeline) throws IOException {
+		for (MappingTree tree : new MappingTree[] { TestHelper.createTestTree(), TestHelper.createTestTreeWithHoles() }) {
+			MemoryMappingTree expected = new MemoryMappingTree();
+			tree.accept(chain.apply(expected));
+
+			MemoryMappingTree actual = new MemoryMappingTree();
+			tree.accept(pipeline.build(actual));
+
+			assertEquals(toString(expected), toString(actual));
+		}
+	}
+
+	private static String toString(MappingTree tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+}
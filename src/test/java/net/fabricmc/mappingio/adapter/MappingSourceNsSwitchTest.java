@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappingFlag;
+import net.fabricmc.mappingio.MappingUtil;
+import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.tiny.Tiny2FileReader;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class MappingSourceNsSwitchTest {
+	@Test
+	public void precomputedClassMap() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		String newSrcNs = MappingUtil.NS_TARGET_FALLBACK + "2";
+		Map<String, String> classMap = new HashMap<>();
+
+		for (MappingTree.ClassMapping cls : tree.getClasses()) {
+			classMap.put(cls.getSrcName(), cls.getDstName(1));
+		}
+
+		String expected = write(tree, out -> new MappingSourceNsSwitch(out, newSrcNs));
+		assertEquals(expected, write(tree, out -> new MappingSourceNsSwitch(out, newSrcNs, false, classMap)));
+		assertEquals(expected, write(tree, out -> new MappingSourceNsSwitch(out, newSrcNs, false, tree)));
+
+		MappingVisitor visitor = new MappingSourceNsSwitch(new MemoryMappingTree(), newSrcNs, false, tree);
+		assertFalse(visitor.getFlags().contains(MappingFlag.NEEDS_MULTIPLE_PASSES));
+	}
+
+	@Test
+	public void nextSkipsHeader() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		String newSrcNs = MappingUtil.NS_TARGET_FALLBACK + "2";
+		String expected = write(tree, out -> new MappingSourceNsSwitch(out, newSrcNs));
+
+		StringWriter input = new StringWriter();
+		tree.accept(MappingWriter.create(input, MappingFormat.TINY_2_FILE));
+
+		for (VisitorFactory factory : new VisitorFactory[] {
+				out -> new MappingSourceNsSwitch(out, newSrcNs),
+				out -> new MappingSourceNsSwitch(out, newSrcNs, false, tree) }) {
+			// namespaces set up beforehand, as next doesn't want the header
+			MemoryMappingTree switched = new MemoryMappingTree();
+			switched.visitNamespaces(newSrcNs, Arrays.asList(MappingUtil.NS_TARGET_FALLBACK, MappingUtil.NS_SOURCE_FALLBACK));
+
+			Tiny2FileReader.read(new StringReader(input.toString()), factory.create(new ForwardingMappingVisitor(switched) {
+				@Override
+				public boolean visitHeader() {
+					return false;
+				}
+			}));
+
+			StringWriter writer = new StringWriter();
+			switched.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+			assertEquals(expected, writer.toString());
+		}
+	}
+
+	private static String write(MappingTree tree, VisitorFactory factory) throws IOException {
+		StringWriter writer = new StringWriter();
+		MemoryMappingTree switched = new MemoryMappingTree();
+		tree.accept(factory.create(switched));
+		switched.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+
+	private interface VisitorFactory {
+		MappingVisitor create(MappingVisitor next);
+	}
+}
@@ -17,8 +17,11 @@
 package net.fabricmc.mappingio.adapter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Set;
@@ -28,8 +31,11 @@ import org.junit.jupiter.api.Test;
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingFlag;
 import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.MappingWriter;
 import net.fabricmc.mappingio.NopMappingVisitor;
+import net.fabricmc.mappingio.format.MappingFormat;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import net.fabricmc.mappingio.tree.VisitOrder;
 import net.fabricmc.mappingio.tree.VisitableMappingTree;
 
 public class OuterClassNameInheritingVisitorTest {
@@ -101,6 +107,67 @@ public class OuterClassNameInheritingVisitorTest {
 		tree.accept(new CheckingVisitor(true));
 	}
 
+	@Test
+	public void sortedInput() throws IOException {
+		// dst descs can't be fixed in a single pass, falls back to multiple passes
+		OuterClassNameInheritingVisitor visitor = new OuterClassNameInheritingVisitor(new CheckingVisitor(false), true);
+		assertTrue(visitor.getFlags().contains(MappingFlag.NEEDS_MULTIPLE_PASSES));
+		accept(visitor);
+
+		VisitableMappingTree tree = new MemoryMappingTree();
+		visitor = new OuterClassNameInheritingVisitor(tree, true);
+		assertFalse(visitor.getFlags().contains(MappingFlag.NEEDS_MULTIPLE_PASSES));
+		accept(visitor);
+		tree.accept(new CheckingVisitor(true));
+	}
+
+	@Test
+	public void sortedInputMatchesMultiPass() throws IOException {
+		// a$b references a$b$c, which gets visited and resolved later
+		MemoryMappingTree input = new MemoryMappingTree();
+		input.visitNamespaces("source", Arrays.asList("target"));
+		input.visitClass("a");
+		input.visitDstName(MappedElementKind.CLASS, 0, "A");
+		input.visitClass("a$b");
+		input.visitMethod("m", "(La$b$c;)V");
+		input.visitDstName(MappedElementKind.METHOD, 0, "n");
+		input.visitClass("a$b$c");
+		input.visitClass("b");
+		input.visitDstName(MappedElementKind.CLASS, 0, "B");
+		input.visitEnd();
+
+		// srg needs dst method descs
+		String expected = null;
+
+		for (boolean sortedInput : new boolean[] { false, true }) {
+			StringWriter writer = new StringWriter();
+			input.accept(new OuterClassNameInheritingVisitor(MappingWriter.create(writer, MappingFormat.SRG_FILE), sortedInput), VisitOrder.createByName());
+
+			if (expected == null) {
+				expected = writer.toString();
+				assertTrue(expected.contains("MD: a$b/m (La$b$c;)V A$b/n (LA$b$c;)V"), expected);
+			} else {
+				assertEquals(expected, writer.toString());
+			}
+		}
+
+		// trees derive the dst descs, allowing single pass operation
+		expected = null;
+
+		for (boolean sortedInput : new boolean[] { false, true }) {
+			MemoryMappingTree tree = new MemoryMappingTree();
+			input.accept(new OuterClassNameInheritingVisitor(tree, sortedInput), VisitOrder.createByName());
+			StringWriter writer = new StringWriter();
+			tree.accept(MappingWriter.create(writer, MappingFormat.SRG_FILE));
+
+			if (expected == null) {
+				expected = writer.toString();
+			} else {
+				assertEquals(expected, writer.toString());
+			}
+		}
+	}
+
 	private static class CheckingVisitor extends NopMappingVisitor {
 		CheckingVisitor(boolean tree) {
 			super(true);
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.enigma.EnigmaDirWatcher;
+import net.fabricmc.mappingio.tree.MappingTreeView;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import net.fabricmc.mappingio.tree.VisitOrder;
+
+public class EnigmaDirWatcherTest {
+	@Test
+	public void initialRead() throws IOException {
+		Path srcDir = TestHelper.MappingDirs.VALID.resolve(TestHelper.getFileName(MappingFormat.ENIGMA_DIR));
+		MemoryMappingTree expected = new MemoryMappingTree();
+		MappingReader.read(srcDir, MappingFormat.ENIGMA_DIR, expected);
+
+		MemoryMappingTree tree = new MemoryMappingTree();
+		new EnigmaDirWatcher(srcDir, tree).close();
+
+		assertEquals(toString(expected), toString(tree));
+	}
+
+	@Test
+	public void reload(@TempDir Path dir) throws IOException, InterruptedException {
+		write(dir.resolve("a.mapping"), "CLASS a A\n\tFIELD f F I\n\tCLASS b B\n");
+		MemoryMappingTree tree = new MemoryMappingTree();
+
+		try (EnigmaDirWatcher watcher = new EnigmaDirWatcher(dir, tree)) {
+			assertEquals("A", tree.getClass("a").getDstName(0));
+			assertEquals("A$B", tree.getClass("a$b").getDstName(0));
+
+			write(dir.resolve("a.mapping"), "CLASS a A2\n");
+			await(watcher, () -> hasDstName(tree, "a", "A2") && tree.getClass("a$b") == null);
+			assertEquals(0, tree.getClass("a").getFields().size());
+
+			Path pkg = Files.createDirectories(dir.resolve("pkg"));
+			write(pkg.resolve("c.mapping"), "CLASS pkg/c pkg/C\n");
+			await(watcher, () -> hasDstName(tree, "pkg/c", "pkg/C"));
+
+			Files.delete(pkg.resolve("c.mapping"));
+			await(watcher, () -> tree.getClass("pkg/c") == null);
+			assertEquals(1, tree.getClasses().size());
+		}
+	}
+
+	@Test
+	public void malformedFile(@TempDir Path dir) throws IOException, InterruptedException {
+		Path fileA = dir.resolve("a.mapping");
+		Path fileZ = dir.resolve("z.mapping");
+		write(fileA, "CLASS a A\n");
+		write(fileZ, "CLASS z Z\n");
+		MemoryMappingTree tree = new MemoryMappingTree();
+
+		try (EnigmaDirWatcher watcher = new EnigmaDirWatcher(dir, tree)) {
+			// a fails after a class and field were visited, z is valid and in the same batch
+			write(fileA, "CLASS a A2\n\tFIELD f F I\n\tMETHOD m\n");
+			write(fileZ, "CLASS z Z2\n");
+			await(watcher, () -> hasDstName(tree, "z", "Z2") && watcher.getFailedFiles().containsKey(fileA));
+			assertEquals("A", tree.getClass("a").getDstName(0));
+			assertEquals(0, tree.getClass("a").getFields().size());
+
+			write(fileA, "CLASS a A3\n");
+			await(watcher, () -> hasDstName(tree, "a", "A3") && watcher.getFailedFiles().isEmpty());
+			assertEquals(0, tree.getClass("a").getFields().size());
+			assertEquals(2, tree.getClasses().size());
+		}
+	}
+
+	@Test
+	public void movedClass(@TempDir Path dir) throws IOException, InterruptedException {
+		write(dir.resolve("A.mapping"), "CLASS a A\n\tFIELD f F I\n");
+		MemoryMappingTree tree = new MemoryMappingTree();
+
+		try (EnigmaDirWatcher watcher = new EnigmaDirWatcher(dir, tree)) {
+			// renaming writes the file for the new name before deleting the old one
+			write(dir.resolve("B.mapping"), "CLASS a B\n\tFIELD g G I\n");
+			Files.delete(dir.resolve("A.mapping"));
+			write(dir.resolve("C.mapping"), "CLASS c C\n"); // reported after the deletion
+			await(watcher, () -> tree.getClass("c") != null);
+
+			assertEquals("B", tree.getClass("a").getDstName(0));
+			assertEquals(1, tree.getClass("a").getFields().size());
+			assertNotNull(tree.getClass("a").getField("g", "I"));
+		}
+	}
+
+	/**
+	 * Poll until the tree reached the expected state, file systems may report a change in multiple steps.
+	 */
+	private static void await(EnigmaDirWatcher watcher, BooleanSupplier condition) throws IOException, InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+		do {
+			watcher.poll(100, TimeUnit.MILLISECONDS);
+		} while (!condition.getAsBoolean() && System.nanoTime() < deadline);
+
+		assertTrue(condition.getAsBoolean(), "timed out waiting for the expected state");
+	}
+
+	private static boolean hasDstName(MappingTreeView tree, String srcName, String dstName) {
+		MappingTreeView.ClassMappingView cls = tree.getClass(srcName);
+
+		return cls != null && dstName.equals(cls.getDstName(0));
+	}
+
+	/**
+	 * Replace the file atomically, so the watcher never reads partially written content.
+	 */
+	private static void write(Path file, String content) throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName()+".tmp");
+		Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static String toString(MappingTreeView tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE), VisitOrder.createByName());
+
+		return writer.toString();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.read;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.adapter.MappingDstNsReorder;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.srg.TsrgFileReader;
+import net.fabricmc.mappingio.format.tiny.Tiny2FileReader;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class NamespaceProjectionTest {
+	private static final String SRC = "source";
+	private static final String DST = "target";
+	private static final String DST2 = "target2";
+
+	@Test
+	public void tinyV2() throws IOException {
+		String content = read(MappingFormat.TINY_2_FILE);
+
+		for (Collection<String> selection : getSelections()) {
+			MemoryMappingTree actual = new MemoryMappingTree();
+			Tiny2FileReader.read(new StringReader(content), selection, actual);
+
+			assertEquals(toString(readReordered(content, selection)), toString(actual));
+		}
+	}
+
+	@Test
+	public void tsrg2() throws IOException {
+		String content = read(MappingFormat.TSRG_2_FILE);
+
+		for (Collection<String> selection : getSelections()) {
+			MemoryMappingTree actual = new MemoryMappingTree();
+			TsrgFileReader.read(new StringReader(content), SRC, DST, selection, actual);
+
+			assertEquals(toString(readReordered(content, selection)), toString(actual));
+		}
+	}
+
+	@Test
+	public void tsrg2FieldsWithoutDesc() throws IOException {
+		// the field column count only tells whether the first column is a desc after all columns were read
+		String content = "tsrg2 source target target2 target3\n"
+				+ "a b c d\n"
+				+ "\tf1 g1 h1 i1\n"
+				+ "\tf2 I g2 h2 i2\n"
+				+ "\tm1 ()V n1 o1 p1\n";
+
+		for (Collection<String> selection : Arrays.asList(Arrays.asList(DST), Arrays.asList(DST2), Arrays.asList("target3"), Arrays.asList(DST, "target3"))) {
+			MemoryMappingTree actual = new MemoryMappingTree();
+			TsrgFileReader.read(new StringReader(content), SRC, DST, selection, actual);
+
+			assertEquals(toString(readReordered(content, selection)), toString(actual));
+		}
+	}
+
+	private static List<Collection<String>> getSelections() {
+		return Arrays.asList(Arrays.asList(DST), Arrays.asList(DST2), Arrays.asList(DST2, DST, "missing"), Collections.emptyList());
+	}
+
+	/**
+	 * Read all namespaces, dropping the unselected ones afterwards.
+	 */
+	private static MemoryMappingTree readReordered(String content, Collection<String> selection) throws IOException {
+		MemoryMappingTree full = new MemoryMappingTree();
+		MappingReader.read(new StringReader(content), full);
+
+		List<String> dstNamespaces = new ArrayList<>(full.getDstNamespaces());
+		dstNamespaces.retainAll(selection);
+
+		MemoryMappingTree ret = new MemoryMappingTree();
+		full.accept(new MappingDstNsReorder(ret, dstNamespaces));
+
+		return ret;
+	}
+
+	private static String read(MappingFormat format) throws IOException {
+		try (Reader reader = Files.newBufferedReader(TestHelper.MappingDirs.VALID.resolve(TestHelper.getFileName(format)))) {
+			StringWriter writer = new StringWriter();
+			char[] buffer = new char[4096];
+			int len;
+
+			while ((len = reader.read(buffer)) >= 0) {
+				writer.write(buffer, 0, len);
+			}
+
+			return writer.toString();
+		}
+	}
+
+	private static String toString(MappingTree tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+
+public class ArgVarLookupTest {
+	private static final int VAR_COUNT = 40;
+	private static final int SLOTS = 10;
+
+	@Test
+	public void args() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("cls");
+		tree.visitMethod("m", "(IJI)V");
+		tree.visitMethodArg(0, 1, "a");
+		tree.visitMethodArg(1, 2, "b");
+		tree.visitMethodArg(-1, -1, "c");
+
+		MappingTree.MethodMapping method = tree.getClass("cls").getMethod("m", "(IJI)V");
+		MappingTree.MethodArgMapping a = method.getArg(0, -1, null);
+		MappingTree.MethodArgMapping b = method.getArg(-1, 2, null);
+		MappingTree.MethodArgMapping c = method.getArg(-1, -1, "c");
+
+		assertEquals("a", a.getSrcName());
+		assertEquals("b", b.getSrcName());
+		assertSame(a, method.getArg(0, 2, null)); // first in list order
+		assertNull(method.getArg(1, -1, "x"));
+		assertNull(method.getArg(5, 6, null));
+
+		// name-only arg receiving its indices
+		tree.visitMethodArg(2, 4, "c");
+		assertEquals(3, method.getArgs().size());
+		assertSame(c, method.getArg(2, -1, null));
+		assertSame(c, method.getArg(-1, 4, null));
+
+		// conflicting position, no longer representable by the dense index
+		tree.visitMethodArg(0, -1, "d");
+		assertEquals(4, method.getArgs().size());
+		assertSame(a, method.getArg(0, -1, "a"));
+		assertEquals("d", method.getArg(0, -1, "d").getSrcName());
+
+		assertSame(b, method.removeArg(1, -1, null));
+		assertNull(method.getArg(1, -1, null));
+	}
+
+	@Test
+	public void methodMerge() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("cls");
+		tree.visitMethod("m1", "(II)V");
+		tree.visitMethod("m2", "(II)V");
+		tree.visitMethodArg(0, 1, "a");
+		tree.visitDstName(MappedElementKind.METHOD_ARG, 0, "aDst");
+
+		MemoryMappingTree other = new MemoryMappingTree();
+		other.visitNamespaces("src", Arrays.asList("dst"));
+		other.visitClass("cls");
+
+		for (String name : new String[] { "m1", "m2" }) {
+			other.visitMethod(name, "(II)V");
+			other.visitMethodArg(0, 1, null);
+			other.visitDstName(MappedElementKind.METHOD_ARG, 0, "otherADst");
+			other.visitMethodArg(1, 2, "b");
+			other.visitDstName(MappedElementKind.METHOD_ARG, 0, "bDst");
+			other.visitMethodVar(-1, 3, 0, 10, "v");
+			other.visitDstName(MappedElementKind.METHOD_VAR, 0, "vDst");
+		}
+
+		MappingTree.ClassMapping cls = tree.getClass("cls");
+		MappingTree.ClassMapping otherCls = other.getClass("cls");
+
+		for (String name : new String[] { "m1", "m2" }) {
+			MappingTree.MethodMapping method = cls.addMethod(otherCls.getMethod(name, "(II)V"));
+			assertSame(cls.getMethod(name, "(II)V"), method);
+			assertEquals(2, method.getArgs().size());
+			assertEquals(1, method.getVars().size());
+			assertEquals(name.equals("m1") ? "otherADst" : "aDst", method.getArg(0, -1, null).getDstName(0));
+			assertEquals("bDst", method.getArg(1, -1, null).getDstName(0));
+			assertEquals("vDst", method.getVar(-1, 3, 5, -1, null).getDstName(0));
+		}
+	}
+
+	@Test
+	public void manyVars() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("cls");
+		tree.visitMethod("m", "()V");
+
+		for (int i = 0; i < VAR_COUNT; i++) {
+			tree.visitMethodVar(i, i % SLOTS, i * 10, i * 10 + 10, "v"+i);
+			tree.visitDstName(MappedElementKind.METHOD_VAR, 0, "dst"+i);
+		}
+
+		MappingTree.MethodMapping method = tree.getClass("cls").getMethod("m", "()V");
+		assertEquals(VAR_COUNT, method.getVars().size());
+
+		for (int i = 0; i < VAR_COUNT; i++) {
+			String name = "dst"+i;
+			assertEquals(name, method.getVar(i, -1, -1, -1, null).getDstName(0));
+			assertEquals(name, method.getVar(-1, i % SLOTS, i * 10 + 2, i * 10 + 5, null).getDstName(0));
+			assertEquals(name, method.getVar(-1, i % SLOTS, i * 10, -1, null).getDstName(0));
+			assertEquals(name, method.getVar(-1, -1, -1, -1, "v"+i).getDstName(0));
+		}
+
+		assertNull(method.getVar(VAR_COUNT, -1, -1, -1, null));
+		assertNull(method.getVar(-1, SLOTS, -1, -1, null));
+
+		// incomplete entry, later merged with one providing the indices
+		tree.visitMethodVar(-1, -1, -1, -1, "late");
+		tree.visitDstName(MappedElementKind.METHOD_VAR, 0, "lateDst");
+		MappingTree.MethodVarMapping late = method.getVar(-1, -1, -1, -1, "late");
+
+		tree.visitMethodVar(VAR_COUNT, 1, 2000, 2010, "late");
+		assertEquals(VAR_COUNT + 1, method.getVars().size());
+		assertSame(late, method.getVar(VAR_COUNT, -1, -1, -1, null));
+		assertSame(late, method.getVar(-1, 1, 2005, 2006, null));
+
+		assertSame(late, method.removeVar(VAR_COUNT, -1, -1, -1, null));
+		assertNull(method.getVar(VAR_COUNT, -1, -1, -1, null));
+		assertNull(method.getVar(-1, 1, 2005, 2006, null));
+	}
+}
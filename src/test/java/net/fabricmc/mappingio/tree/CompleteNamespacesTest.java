@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingUtil;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.adapter.ForwardingMappingVisitor;
+import net.fabricmc.mappingio.adapter.MappingNsCompleter;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.tree.MappingTreeView.ClassMappingView;
+import net.fabricmc.mappingio.tree.MappingTreeView.MethodMappingView;
+
+public class CompleteNamespacesTest {
+	private static final String SRC = MappingUtil.NS_SOURCE_FALLBACK;
+	private static final String DST = MappingUtil.NS_TARGET_FALLBACK;
+	private static final String DST2 = MappingUtil.NS_TARGET_FALLBACK + "2";
+
+	@Test
+	public void matchesAdapter() throws IOException {
+		Map<String, String> alternatives = new HashMap<>();
+		alternatives.put(DST, DST2);
+		alternatives.put(DST2, SRC);
+		check(alternatives, false);
+
+		Map<String, String> cyclic = new HashMap<>();
+		cyclic.put(DST, DST2);
+		cyclic.put(DST2, DST);
+		check(cyclic, false);
+
+		Map<String, String> added = new HashMap<>();
+		added.put("extra", DST);
+		added.put(DST, SRC);
+		check(added, true);
+	}
+
+	@Test
+	public void withHierarchyInfo() throws IOException {
+		// b.m and a.m override each other, only a.m is named
+		MemoryMappingTree template = new MemoryMappingTree();
+		template.visitNamespaces(SRC, Arrays.asList(DST, DST2));
+		template.visitClass("b");
+		template.visitMethod("m", "()V");
+		template.visitDstName(MappedElementKind.METHOD, 0, "method_1");
+		template.visitClass("a");
+		template.visitMethod("m", "()V");
+		template.visitDstName(MappedElementKind.METHOD, 0, "method_1");
+		template.visitDstName(MappedElementKind.METHOD, 1, "foo");
+		template.visitEnd();
+
+		Map<String, String> alternatives = Collections.singletonMap(DST2, DST);
+
+		MemoryMappingTree expected = new MemoryMappingTree();
+		expected.setHierarchyInfoProvider(new SameNameHierarchyProvider());
+		template.accept(new MappingNsCompleter(new ForwardingMappingVisitor(expected) { }, alternatives));
+
+		MemoryMappingTree adapted = new MemoryMappingTree();
+		adapted.setHierarchyInfoProvider(new SameNameHierarchyProvider());
+		template.accept(new MappingNsCompleter(adapted, alternatives));
+		assertEquals(toString(expected), toString(adapted));
+	}
+
+	private static void check(Map<String, String> alternatives, boolean addMissingNs) throws IOException {
+		for (MemoryMappingTree template : new MemoryMappingTree[] { TestHelper.createTestTree(), TestHelper.createTestTreeWithHoles() }) {
+			MemoryMappingTree expected = new MemoryMappingTree();
+			// the forwarding visitor hides the tree, forcing the regular per element completion
+			template.accept(new MappingNsCompleter(new ForwardingMappingVisitor(expected) { }, alternatives, addMissingNs));
+
+			MemoryMappingTree tree = new MemoryMappingTree(true);
+			template.accept(tree);
+			tree.completeNamespaces(alternatives, addMissingNs);
+			assertEquals(toString(expected), toString(tree));
+
+			for (int ns = 0; ns < tree.getDstNamespaces().size(); ns++) {
+				for (MappingTree.ClassMapping cls : tree.getClasses()) {
+					String name = cls.getDstName(ns);
+					if (name != null) assertEquals(cls, tree.getClass(name, ns));
+				}
+			}
+
+			MemoryMappingTree adapted = new MemoryMappingTree();
+			template.accept(new MappingNsCompleter(adapted, alternatives, addMissingNs));
+			assertEquals(toString(expected), toString(adapted));
+		}
+	}
+
+	/**
+	 * Treats all methods sharing a source name as one hierarchy.
+	 */
+	private static final class SameNameHierarchyProvider implements HierarchyInfoProvider<String> {
+		@Override
+		public String getNamespace() {
+			return SRC;
+		}
+
+		@Override
+		public String resolveField(String owner, String name, @Nullable String desc) {
+			return owner;
+		}
+
+		@Override
+		public String resolveMethod(String owner, String name, @Nullable String desc) {
+			return owner;
+		}
+
+		@Override
+		public String getMethodHierarchy(String owner, String name, @Nullable String desc) {
+			return name;
+		}
+
+		@Override
+		public int getHierarchySize(@Nullable String hierarchy) {
+			return hierarchy != null ? 2 : 0;
+		}
+
+		@Override
+		public Collection<? extends MethodMappingView> getHierarchyMethods(String hierarchy, MappingTreeView tree) {
+			List<MethodMappingView> ret = new ArrayList<>();
+
+			for (ClassMappingView cls : tree.getClasses()) {
+				for (MethodMappingView method : cls.getMethods()) {
+					if (method.getSrcName().equals(hierarchy)) ret.add(method);
+				}
+			}
+
+			return ret;
+		}
+	}
+
+	private static String toString(MappingTreeView tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+}
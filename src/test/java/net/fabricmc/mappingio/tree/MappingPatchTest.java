@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.format.MappingFormat;
+
+public class MappingPatchTest {
+	@Test
+	public void createAndApply() throws IOException {
+		MemoryMappingTree[] trees = { TestHelper.createTestTree(), TestHelper.createTestTreeWithHoles(), new MemoryMappingTree() };
+		trees[2].visitNamespaces(trees[0].getSrcNamespace(), trees[0].getDstNamespaces());
+
+		for (MemoryMappingTree oldTree : trees) {
+			for (MemoryMappingTree newTree : trees) {
+				MappingPatch patch = MappingPatch.create(oldTree, newTree);
+
+				StringWriter writer = new StringWriter();
+				patch.write(writer);
+				MappingPatch readPatch = MappingPatch.read(new StringReader(writer.toString()));
+
+				MemoryMappingTree patched = new MemoryMappingTree(oldTree);
+				patched.applyPatch(readPatch);
+
+				assertEquals(toString(newTree), toString(patched));
+				if (oldTree == newTree) assertTrue(patch.getChanges().isEmpty());
+			}
+		}
+	}
+
+	@Test
+	public void argAndVarSrcNames() throws IOException {
+		MemoryMappingTree oldTree = new MemoryMappingTree();
+		oldTree.visitNamespaces("src", Arrays.asList("dst"));
+		oldTree.visitClass("a");
+		oldTree.visitMethod("m", "(II)V");
+		oldTree.visitMethodArg(0, 1, "p1");
+		oldTree.visitDstName(MappedElementKind.METHOD_ARG, 0, "q1");
+		oldTree.visitMethodArg(1, 2, null);
+		oldTree.visitMethodVar(0, 3, 4, 5, "v");
+		oldTree.visitEnd();
+
+		MemoryMappingTree newTree = new MemoryMappingTree(oldTree);
+		MemoryMappingTree.MethodEntry method = (MemoryMappingTree.MethodEntry) newTree.getClass("a").getMethod("m", "(II)V");
+		method.getArg(0, 1, null).setSrcName("p2");
+		method.getArg(0, 1, null).setDstName("q2", 0);
+		method.getArg(1, 2, null).setSrcName("p3");
+		method.getVar(0, 3, 4, 5, null).setSrcName(null);
+
+		MappingPatch patch = MappingPatch.create(oldTree, newTree);
+		oldTree.applyPatch(patch);
+
+		assertEquals(toString(newTree), toString(oldTree));
+		assertEquals(4, patch.getChanges().size());
+	}
+
+	@Test
+	public void missingNamespaces() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		assertThrows(IllegalArgumentException.class, () -> MappingPatch.create(tree, TestHelper.createTestTree()));
+		assertThrows(IllegalArgumentException.class, () -> MappingPatch.create(TestHelper.createTestTree(), tree));
+	}
+
+	@Test
+	public void escaping() throws IOException {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("a");
+
+		MemoryMappingTree newTree = new MemoryMappingTree(tree);
+		newTree.getClass("a").setComment("line 1\n\tline 2\\");
+
+		StringWriter writer = new StringWriter();
+		MappingPatch.create(tree, newTree).write(writer);
+		tree.applyPatch(MappingPatch.read(new StringReader(writer.toString())));
+
+		assertEquals("line 1\n\tline 2\\", tree.getClass("a").getComment());
+	}
+
+	@Test
+	public void invalid() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("a");
+
+		assertThrows(IOException.class, () -> MappingPatch.read(new StringReader("mio-patch\t1\nrename\tc\ta\n")));
+		assertThrows(IOException.class, () -> MappingPatch.read(new StringReader("tiny\t2\n")));
+
+		MappingPatch patch = new MappingPatch();
+		patch.add(MappingPatch.Change.of(MappingPatch.Operation.REMOVE, MappedElementKind.CLASS, new MemoryMappingTree.ClassEntry(tree, "b"), null, null));
+		assertThrows(IllegalArgumentException.class, () -> tree.applyPatch(patch));
+	}
+
+	private static String toString(MappingTreeView tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE), VisitOrder.createByName());
+
+		return writer.toString();
+	}
+}
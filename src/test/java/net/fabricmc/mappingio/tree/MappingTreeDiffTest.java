@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.tree.MappingTreeView.ElementMappingView;
+
+public class MappingTreeDiffTest {
+	@Test
+	public void identical() {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		assertTrue(diff(tree, new MemoryMappingTree(tree), tree.getSrcNamespace()).isEmpty());
+	}
+
+	@Test
+	public void changes() {
+		MemoryMappingTree oldTree = createTree();
+		MemoryMappingTree newTree = createTree();
+		newTree.getClass("a").setDstName("A2", 0);
+		newTree.getClass("a").setComment("comment");
+		newTree.getClass("a").removeField("f", "I");
+		newTree.getClass("a").getMethod("m", "(I)V").getArg(0, 1, null).setDstName("p2", 0);
+		newTree.visitClass("c");
+		newTree.removeClass("b");
+
+		List<String> expected = Arrays.asList(
+				"renamed CLASS a dst A -> A2",
+				"comment CLASS a",
+				"removed FIELD f",
+				"renamed METHOD_ARG null dst p -> p2",
+				"removed CLASS b",
+				"added CLASS c");
+		assertEquals(expected, diff(oldTree, newTree, "src"));
+
+		// matching by the dst namespace turns the class rename into a removal and addition
+		assertEquals("removed CLASS a", diff(oldTree, newTree, "dst").get(0));
+	}
+
+	private static MemoryMappingTree createTree() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("a");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "A");
+		tree.visitField("f", "I");
+		tree.visitDstName(MappedElementKind.FIELD, 0, "F");
+		tree.visitMethod("m", "(I)V");
+		tree.visitDstName(MappedElementKind.METHOD, 0, "M");
+		tree.visitMethodArg(0, 1, null);
+		tree.visitDstName(MappedElementKind.METHOD_ARG, 0, "p");
+		tree.visitClass("b");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "B");
+
+		return tree;
+	}
+
+	private static List<String> diff(MappingTreeView oldTree, MappingTreeView newTree, String namespace) {
+		List<String> ret = new ArrayList<>();
+
+		MappingTreeDiff.diff(oldTree, newTree, namespace, new MappingTreeDiff.ChangeHandler() {
+			@Override
+			public void added(MappedElementKind kind, ElementMappingView element) {
+				ret.add("added "+kind+" "+element.getSrcName());
+			}
+
+			@Override
+			public void removed(MappedElementKind kind, ElementMappingView element) {
+				ret.add("removed "+kind+" "+element.getSrcName());
+			}
+
+			@Override
+			public void renamed(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement,
+					String namespace, @Nullable String oldName, @Nullable String newName) {
+				ret.add("renamed "+kind+" "+oldElement.getSrcName()+" "+namespace+" "+oldName+" -> "+newName);
+			}
+
+			@Override
+			public void commentChanged(MappedElementKind kind, ElementMappingView oldElement, ElementMappingView newElement) {
+				ret.add("comment "+kind+" "+newElement.getSrcName());
+			}
+		});
+
+		return ret;
+	}
+}
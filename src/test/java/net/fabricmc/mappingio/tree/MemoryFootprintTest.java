@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.NopMappingVisitor;
+import net.fabricmc.mappingio.TestHelper;
+
+public class MemoryFootprintTest {
+	@Test
+	public void categories() {
+		MemoryFootprint footprint = TestHelper.createTestTree().estimateFootprint();
+		long sum = 0;
+
+		for (MemoryFootprint.Category category : MemoryFootprint.Category.values()) {
+			sum += footprint.getBytes(category);
+		}
+
+		assertEquals(sum, footprint.getTotalBytes());
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.CLASSES) > 0);
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.MEMBERS) > 0);
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.ARGS) > 0);
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.VARS) > 0);
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.DST_NAMES) > 0);
+		assertTrue(footprint.getBytes(MemoryFootprint.Category.INDEXES) > 0);
+	}
+
+	@Test
+	public void growsWithContent() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+		tree.visitClass("a");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "b");
+		tree.visitEnd();
+
+		MemoryFootprint before = tree.estimateFootprint();
+		tree.getClass("a").setComment("a comment");
+		MemoryFootprint after = tree.estimateFootprint();
+
+		assertEquals(0, before.getBytes(MemoryFootprint.Category.COMMENTS));
+		assertTrue(after.getBytes(MemoryFootprint.Category.COMMENTS) > 0);
+		assertEquals(before.getBytes(MemoryFootprint.Category.CLASSES), after.getBytes(MemoryFootprint.Category.CLASSES));
+		assertEquals(before.getTotalBytes() + after.getBytes(MemoryFootprint.Category.COMMENTS), after.getTotalBytes());
+	}
+
+	@Test
+	public void duplicateStrings() {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("src", Arrays.asList("dst"));
+
+		for (String name : new String[] { "a", "b" }) {
+			tree.visitClass(name);
+			tree.visitDstName(MappedElementKind.CLASS, 0, new String(new char[] { 'c' })); // equal, but distinct instances
+		}
+
+		tree.visitEnd();
+
+		MemoryFootprint footprint = tree.estimateFootprint();
+		assertEquals(footprint.getStringCount() - 1, footprint.getUniqueStringCount());
+		assertTrue(footprint.getDuplicateStringBytes() > 0);
+
+		tree.getClass("b").setDstName(tree.getClass("a").getDstName(0), 0);
+		footprint = tree.estimateFootprint();
+		assertEquals(footprint.getStringCount(), footprint.getUniqueStringCount());
+		assertEquals(0, footprint.getDuplicateStringBytes());
+	}
+
+	@Test
+	public void sortCaches() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		MemoryFootprint before = tree.estimateFootprint();
+		tree.accept(new NopMappingVisitor(true), VisitOrder.createByName());
+		MemoryFootprint after = tree.estimateFootprint();
+
+		assertTrue(after.getBytes(MemoryFootprint.Category.INDEXES) > before.getBytes(MemoryFootprint.Category.INDEXES));
+		assertEquals(before.getBytes(MemoryFootprint.Category.CLASSES), after.getBytes(MemoryFootprint.Category.CLASSES));
+	}
+}
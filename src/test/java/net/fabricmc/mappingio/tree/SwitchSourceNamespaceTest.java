@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.adapter.MappingSourceNsSwitch;
+import net.fabricmc.mappingio.format.MappingFormat;
+
+public class SwitchSourceNamespaceTest {
+	@Test
+	public void matchesAdapter() throws IOException {
+		for (MemoryMappingTree template : new MemoryMappingTree[] { TestHelper.createTestTree(), TestHelper.createTestTreeWithHoles() }) {
+			for (String newSrcNs : template.getDstNamespaces()) {
+				MemoryMappingTree expected = new MemoryMappingTree();
+				template.accept(new MappingSourceNsSwitch(expected, newSrcNs));
+
+				MemoryMappingTree tree = new MemoryMappingTree(template);
+				tree.switchSourceNamespace(newSrcNs);
+
+				assertEquals(toString(expected), toString(tree));
+			}
+		}
+	}
+
+	@Test
+	public void mergesMixedDescs() throws IOException {
+		// members only colliding after the switch, with and without (partial) descs
+		MemoryMappingTree template = new MemoryMappingTree();
+		template.visitNamespaces("a", Arrays.asList("b", "c"));
+		template.visitClass("a1");
+		template.visitDstName(MappedElementKind.CLASS, 0, "b1");
+		template.visitField("f1", null);
+		template.visitDstName(MappedElementKind.FIELD, 0, "g");
+		template.visitDstName(MappedElementKind.FIELD, 1, "h1");
+		template.visitField("f2", "La1;");
+		template.visitDstName(MappedElementKind.FIELD, 0, "g");
+		template.visitField("f3", "I");
+		template.visitDstName(MappedElementKind.FIELD, 0, "k");
+		template.visitField("f4", null);
+		template.visitDstName(MappedElementKind.FIELD, 0, "k");
+		template.visitDstName(MappedElementKind.FIELD, 1, "h4");
+		template.visitMethod("m1", "(La1;)");
+		template.visitDstName(MappedElementKind.METHOD, 0, "n");
+		template.visitDstName(MappedElementKind.METHOD, 1, "o1");
+		template.visitMethod("m2", "(La1;)V");
+		template.visitDstName(MappedElementKind.METHOD, 0, "n");
+		template.visitMethod("m3", null);
+		template.visitDstName(MappedElementKind.METHOD, 0, "n");
+		template.visitEnd();
+
+		MemoryMappingTree expected = new MemoryMappingTree();
+		template.accept(new MappingSourceNsSwitch(expected, "b"));
+
+		MemoryMappingTree tree = new MemoryMappingTree(template);
+		tree.switchSourceNamespace("b");
+
+		assertEquals(toString(expected), toString(tree));
+		assertEquals(2, tree.getClass("b1").getFields().size());
+		assertEquals(1, tree.getClass("b1").getMethods().size());
+	}
+
+	@Test
+	public void mergesClasses() throws IOException {
+		// classes only colliding after the switch, later ones take precedence like in the adapter
+		MemoryMappingTree template = new MemoryMappingTree();
+		template.visitNamespaces("a", Arrays.asList("b", "c"));
+		template.visitClass("a1");
+		template.visitDstName(MappedElementKind.CLASS, 0, "b1");
+		template.visitDstName(MappedElementKind.CLASS, 1, "c1");
+		template.visitComment(MappedElementKind.CLASS, "first");
+		template.visitField("f1", "I");
+		template.visitDstName(MappedElementKind.FIELD, 0, "g1");
+		template.visitClass("a2");
+		template.visitDstName(MappedElementKind.CLASS, 0, "b1");
+		template.visitDstName(MappedElementKind.CLASS, 1, "c2");
+		template.visitComment(MappedElementKind.CLASS, "second");
+		template.visitField("f2", "I");
+		template.visitDstName(MappedElementKind.FIELD, 0, "g2");
+		template.visitEnd();
+
+		MemoryMappingTree expected = new MemoryMappingTree();
+		template.accept(new MappingSourceNsSwitch(expected, "b"));
+
+		MemoryMappingTree tree = new MemoryMappingTree(template);
+		tree.switchSourceNamespace("b");
+
+		assertEquals(toString(expected), toString(tree));
+		assertEquals(1, tree.getClasses().size());
+		assertEquals("c2", tree.getClass("b1").getDstName(1));
+		assertEquals("second", tree.getClass("b1").getComment());
+	}
+
+	@Test
+	public void indexes() {
+		MemoryMappingTree tree = new MemoryMappingTree(true);
+		tree.visitNamespaces("a", Arrays.asList("b", "c"));
+		tree.visitClass("a1");
+		tree.visitDstName(MappedElementKind.CLASS, 0, "b1");
+		tree.visitDstName(MappedElementKind.CLASS, 1, "c1");
+		MappingTree.ClassMapping cls = tree.getClass("a1");
+
+		tree.switchSourceNamespace("c");
+
+		assertEquals("c", tree.getSrcNamespace());
+		assertEquals(Arrays.asList("b", "a"), tree.getDstNamespaces());
+		assertSame(cls, tree.getClass("c1"));
+		assertSame(cls, tree.getClass("a1", 1));
+		assertSame(cls, tree.getClass("b1", 0));
+		assertThrows(IllegalArgumentException.class, () -> tree.switchSourceNamespace("c"));
+	}
+
+	private static String toString(MappingTreeView tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.NopMappingVisitor;
+
+public class VisitOrderTest {
+	@Test
+	public void cachedOrderFollowsChanges() throws IOException {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Collections.singletonList("target"));
+		tree.visitClass("b");
+		tree.visitMethod("m2", "()V");
+		tree.visitMethod("m1", "()V");
+		tree.visitClass("c");
+		tree.visitClass("a");
+
+		VisitOrder order = VisitOrder.createByName();
+		assertEquals(Arrays.asList("a", "b", "b.m1", "b.m2", "c"), collect(tree, order));
+		assertEquals(Arrays.asList("a", "b", "b.m1", "b.m2", "c"), collect(tree, order));
+		assertEquals(Arrays.asList("b", "b.m2", "b.m1", "c", "a"), collect(tree, VisitOrder.createByInputOrder()));
+
+		// tree changes
+		tree.visitClass("0");
+		tree.visitClass("b");
+		tree.visitMethod("m0", "()V");
+		assertEquals(Arrays.asList("0", "a", "b", "b.m0", "b.m1", "b.m2", "c"), collect(tree, order));
+
+		tree.removeClass("0");
+		tree.getClass("b").removeMethod("m1", "()V");
+		assertEquals(Arrays.asList("a", "b", "b.m0", "b.m2", "c"), collect(tree, order));
+
+		// visit order changes
+		order.classComparator(Comparator.comparing(MappingTreeView.ClassMappingView::getSrcName).reversed());
+		assertEquals(Arrays.asList("c", "b", "b.m0", "b.m2", "a"), collect(tree, order));
+	}
+
+	@Test
+	public void cacheReuseAndBound() throws IOException {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Collections.singletonList("target"));
+		tree.visitClass("b");
+		tree.visitClass("a");
+
+		// separately created but equally configured orders share the results
+		MemoryMappingTree.SortCache cache = tree.getSortCache(VisitOrder.createByName());
+		assertSame(cache, tree.getSortCache(VisitOrder.createByName()));
+		assertSame(cache, tree.getSortCache(VisitOrder.createByName().methodsFirst(false)));
+		assertNotSame(cache, tree.getSortCache(VisitOrder.createByName().methodsFirst()));
+		assertNotSame(cache, tree.getSortCache(VisitOrder.createByName().methodArgsByPosition()));
+
+		// only a bounded number of configurations is retained
+		for (int i = 0; i < MemoryMappingTree.MAX_SORT_CACHES + 2; i++) {
+			Comparator<MappingTreeView.ClassMappingView> comparator = Comparator.comparing(MappingTreeView.ClassMappingView::getSrcName);
+			collect(tree, VisitOrder.createByName().classComparator(comparator));
+		}
+
+		synchronized (tree.sortCaches) {
+			assertEquals(MemoryMappingTree.MAX_SORT_CACHES, tree.sortCaches.size());
+		}
+
+		// changes drop the retained results
+		tree.visitClass("c");
+		assertNotSame(cache, tree.getSortCache(VisitOrder.createByName()));
+
+		synchronized (tree.sortCaches) {
+			assertEquals(1, tree.sortCaches.size());
+		}
+	}
+
+	private static List<String> collect(MappingTree tree, VisitOrder order) throws IOException {
+		List<String> ret = new ArrayList<>();
+
+		tree.accept(new NopMappingVisitor(true) {
+			@Override
+			public boolean visitClass(String srcName) {
+				ret.add(srcName);
+				cls = srcName;
+
+				return true;
+			}
+
+			@Override
+			public boolean visitMethod(String srcName, @Nullable String srcDesc) {
+				ret.add(cls+"."+srcName);
+
+				return true;
+			}
+
+			String cls;
+		}, order);
+
+		return ret;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.visiting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class JfrEventsTest {
+	/**
+	 * Record the events while reading, accepting and writing a tree. The JFR API is accessed reflectively, as the
+	 * tests get compiled against Java 8 as well.
+	 */
+	@Test
+	public void recorded(@TempDir Path dir) throws Exception {
+		Class<?> recordingCls;
+
+		try {
+			recordingCls = Class.forName("jdk.jfr.Recording");
+		} catch (ClassNotFoundException e) {
+			return; // JFR unavailable
+		}
+
+		Object recording = recordingCls.getConstructor().newInstance();
+
+		for (String event : new String[] { "Read", "TreeAccept", "Write" }) {
+			recordingCls.getMethod("enable", String.class).invoke(recording, "net.fabricmc.mappingio."+event);
+		}
+
+		recordingCls.getMethod("start").invoke(recording);
+		MemoryMappingTree tree = new MemoryMappingTree();
+
+		try {
+			MappingReader.read(TestHelper.MappingDirs.VALID.resolve(TestHelper.getFileName(MappingFormat.TINY_2_FILE)), tree);
+			TestHelper.writeToDir(tree, dir, MappingFormat.ENIGMA_FILE);
+		} finally {
+			recordingCls.getMethod("stop").invoke(recording);
+		}
+
+		Path file = dir.resolve("recording.jfr");
+		recordingCls.getMethod("dump", Path.class).invoke(recording, file);
+		recordingCls.getMethod("close").invoke(recording);
+
+		Set<String> names = new HashSet<>();
+		List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class).invoke(null, file);
+
+		for (Object event : events) {
+			Object type = event.getClass().getMethod("getEventType").invoke(event);
+			String name = (String) type.getClass().getMethod("getName").invoke(type);
+			names.add(name);
+
+			if (name.endsWith(".TreeAccept")) {
+				assertEquals(tree.getClasses().size(), invokeGetter(event, "getInt", "classes"));
+			} else if (name.endsWith(".Write")) {
+				assertTrue((long) invokeGetter(event, "getLong", "bytes") > 0);
+			}
+		}
+
+		assertTrue(names.contains("net.fabricmc.mappingio.Read"), names.toString());
+		assertTrue(names.contains("net.fabricmc.mappingio.TreeAccept"), names.toString());
+		assertTrue(names.contains("net.fabricmc.mappingio.Write"), names.toString());
+	}
+
+	private static Object invokeGetter(Object event, String getter, String field) throws ReflectiveOperationException {
+		return event.getClass().getMethod(getter, String.class).invoke(event, field);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.visiting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingFlag;
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.TestHelper;
+import net.fabricmc.mappingio.adapter.ForwardingMappingVisitor;
+import net.fabricmc.mappingio.adapter.OuterClassNameInheritingVisitor;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.format.MappingVisitBuffer;
+import net.fabricmc.mappingio.format.enigma.EnigmaFileReader;
+import net.fabricmc.mappingio.tree.MappingTree;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+
+public class MappingVisitBufferTest {
+	@Test
+	public void roundTrip() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		MappingVisitBuffer buffer = new MappingVisitBuffer();
+		tree.accept(buffer);
+
+		MemoryMappingTree replayed = new MemoryMappingTree();
+		buffer.accept(replayed);
+
+		assertEquals(toString(tree), toString(replayed));
+	}
+
+	@Test
+	public void skipping() throws IOException {
+		MemoryMappingTree tree = TestHelper.createTestTree();
+		MappingTree.ClassMapping skippedClass = tree.getClasses().iterator().next();
+		MappingVisitBuffer buffer = new MappingVisitBuffer();
+		tree.accept(buffer);
+
+		MemoryMappingTree replayed = new MemoryMappingTree();
+		buffer.accept(new ForwardingMappingVisitor(replayed) {
+			@Override
+			public boolean visitClass(String srcName) throws IOException {
+				return !srcName.equals(skippedClass.getSrcName()) && super.visitClass(srcName);
+			}
+
+			@Override
+			public boolean visitMethod(String srcName, @Nullable String srcDesc) throws IOException {
+				return false;
+			}
+
+			@Override
+			public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+				return targetKind != MappedElementKind.FIELD && super.visitElementContent(targetKind);
+			}
+		});
+
+		assertNull(replayed.getClass(skippedClass.getSrcName()));
+		assertEquals(tree.getClasses().size() - 1, replayed.getClasses().size());
+
+		for (MappingTree.ClassMapping cls : replayed.getClasses()) {
+			MappingTree.ClassMapping orig = tree.getClass(cls.getSrcName());
+			assertEquals(orig.getDstName(0), cls.getDstName(0));
+			assertEquals(orig.getComment(), cls.getComment());
+			assertEquals(orig.getFields().size(), cls.getFields().size());
+			assertEquals(0, cls.getMethods().size());
+
+			for (MappingTree.FieldMapping field : cls.getFields()) {
+				assertNull(field.getComment());
+			}
+		}
+	}
+
+	@Test
+	public void multiPassEnigmaDir() throws IOException {
+		Path dir = TestHelper.MappingDirs.VALID.resolve(TestHelper.getFileName(MappingFormat.ENIGMA_DIR));
+		MemoryMappingTree expected = new MemoryMappingTree();
+		MappingReader.read(dir, MappingFormat.ENIGMA_DIR, expected);
+
+		MemoryMappingTree actual = new MemoryMappingTree();
+		int[] passes = new int[1];
+
+		MappingReader.read(dir, MappingFormat.ENIGMA_DIR, new ForwardingMappingVisitor(actual) {
+			@Override
+			public Set<MappingFlag> getFlags() {
+				return EnumSet.of(MappingFlag.NEEDS_MULTIPLE_PASSES);
+			}
+
+			@Override
+			public boolean visitEnd() throws IOException {
+				return super.visitEnd() && ++passes[0] == 2;
+			}
+		});
+
+		assertEquals(2, passes[0]);
+		assertEquals(toString(expected), toString(actual));
+	}
+
+	@Test
+	public void multiPassEnigmaWithDstDescs() throws IOException {
+		String input = "CLASS a A\n"
+				+ "\tMETHOD m M (La;)V\n";
+		StringWriter writer = new StringWriter();
+
+		// the inheriting visitor requests multiple passes, the srg writer dst method descs
+		EnigmaFileReader.read(new StringReader(input), new OuterClassNameInheritingVisitor(MappingWriter.create(writer, MappingFormat.SRG_FILE), false));
+
+		assertTrue(writer.toString().contains("MD: a/m (La;)V A/M (LA;)V"), writer.toString());
+	}
+
+	private static String toString(MappingTree tree) throws IOException {
+		StringWriter writer = new StringWriter();
+		tree.accept(MappingWriter.create(writer, MappingFormat.TINY_2_FILE));
+
+		return writer.toString();
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingWriter;
+import net.fabricmc.mappingio.format.MappingFormat;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import net.fabricmc.mappingio.tree.ParallelTreeWriter;
+import net.fabricmc.mappingio.tree.VisitOrder;
+
+public class ParallelWriteTest {
+	private static MemoryMappingTree tree;
+
+	@BeforeAll
+	public static void setup() {
+		tree = new MemoryMappingTree();
+		tree.visitNamespaces("source", Arrays.asList("target", "target2"));
+		tree.visitMetadata("key", "value");
+
+		for (int i = 0; i < 5000; i++) {
+			tree.visitClass("class_"+i);
+			tree.visitDstName(MappedElementKind.CLASS, 0, "cls"+i);
+			tree.visitDstName(MappedElementKind.CLASS, 1, "c"+i);
+			tree.visitComment(MappedElementKind.CLASS, "comment "+i);
+			tree.visitField("field_"+i, "Lclass_"+(i + 1)+";");
+			tree.visitDstName(MappedElementKind.FIELD, 0, "fld"+i);
+			tree.visitMethod("method_"+i, "(I)V");
+			tree.visitDstName(MappedElementKind.METHOD, 0, "mth"+i);
+			tree.visitMethodArg(0, 1, "arg");
+			tree.visitDstName(MappedElementKind.METHOD_ARG, 0, "a"+i);
+		}
+	}
+
+	@Test
+	public void matchesSequential() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			for (MappingFormat format : MappingFormat.values()) {
+				if (!ParallelTreeWriter.supports(format)) continue;
+
+				for (VisitOrder order : new VisitOrder[] { VisitOrder.createByInputOrder(), VisitOrder.createByName() }) {
+					StringWriter expected = new StringWriter();
+					tree.accept(MappingWriter.create(expected, format), order);
+
+					StringWriter actual = new StringWriter();
+					ParallelTreeWriter.write(tree, actual, format, order, pool);
+
+					assertEquals(expected.toString(), actual.toString(), format.name());
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void rejectsUnsupported() {
+		assertThrows(IllegalArgumentException.class, () -> ParallelTreeWriter.write(tree, new StringWriter(), MappingFormat.ENIGMA_FILE,
+				VisitOrder.createByInputOrder(), ForkJoinPool.commonPool()));
+	}
+}
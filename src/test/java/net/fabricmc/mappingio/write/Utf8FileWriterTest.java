@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.mappingio.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.mappingio.format.Utf8FileWriter;
+
+public class Utf8FileWriterTest {
+	@Test
+	public void encoding() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		StringBuilder expected = new StringBuilder();
+
+		try (Utf8FileWriter writer = new Utf8FileWriter(Channels.newChannel(bytes))) {
+			for (int i = 0; i < 20000; i++) {
+				String str = "class_"+i+"\tä€😀\n";
+				expected.append(str);
+				writer.write(str);
+
+				expected.append(i - 10000);
+				writer.writeInt(i - 10000);
+
+				expected.append('\uD83D').append('\uDE00').append('x');
+				writer.write('\uD83D');
+				writer.write('\uDE00');
+				writer.write('x');
+
+				char[] chars = "abéc".toCharArray();
+				expected.append(chars, 1, 3);
+				writer.write(chars, 1, 3);
+			}
+
+			expected.append(Integer.MIN_VALUE).append(Integer.MAX_VALUE);
+			writer.writeInt(Integer.MIN_VALUE);
+			writer.writeInt(Integer.MAX_VALUE);
+		}
+
+		assertEquals(expected.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void malformed() throws IOException {
+		Utf8FileWriter writer = new Utf8FileWriter(Channels.newChannel(new ByteArrayOutputStream()));
+		assertThrows(MalformedInputException.class, () -> writer.write("a\uDE00"));
+	}
+}